@@ -0,0 +1,74 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.Application;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Starts the application against its own in-memory H2 database, so the benchmarks run offline and don't share state
+ * with each other. Only the load tests that go through HTTP start the web layer, on a random port.
+ */
+public final class BenchmarkApplication {
+    private static final int SEED_SLICE_SIZE = 50_000;
+
+    private BenchmarkApplication() {
+    }
+
+    public static ConfigurableApplicationContext start(String databaseName, String... properties) {
+        return start(WebApplicationType.NONE, databaseName, properties);
+    }
+
+    /**
+     * @return the context, the port the server listens on is {@code local.server.port} of its environment
+     */
+    public static ConfigurableApplicationContext startWeb(String databaseName, String... properties) {
+        return start(WebApplicationType.SERVLET, databaseName,
+                Stream.concat(Stream.of("server.port=0"), Arrays.stream(properties)).toArray(String[]::new));
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType,
+                                                        String databaseName,
+                                                        String... properties) {
+        var args = Stream.concat(
+                        Stream.of(
+                                "spring.datasource.url=jdbc:h2:mem:" + databaseName,
+                                "spring.main.banner-mode=off",
+                                "logging.level.root=WARN"),
+                        Arrays.stream(properties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+
+        return new SpringApplicationBuilder(Application.class)
+                .web(webApplicationType)
+                .run(args);
+    }
+
+    public static void seed(JdbcTemplate jdbcTemplate, int itemCount) {
+        seed(jdbcTemplate, itemCount, 1);
+    }
+
+    /**
+     * Seeds {@code itemCount} items of which every {@code unprocessedEvery}-th one is unprocessed and the rest are
+     * processed, inserted in slices so that a million rows don't have to be held in memory at once.
+     */
+    public static void seed(JdbcTemplate jdbcTemplate, int itemCount, int unprocessedEvery) {
+        jdbcTemplate.update("DELETE FROM item");
+        for (int from = 0; from < itemCount; from += SEED_SLICE_SIZE) {
+            var rows = IntStream.range(from, Math.min(from + SEED_SLICE_SIZE, itemCount))
+                    .mapToObj(i -> new Object[]{"name" + i, "description" + i,
+                            i % unprocessedEvery == 0 ? "UNPROCESSED" : "PROCESSED", "email" + i + "@email.com"})
+                    .toList();
+            jdbcTemplate.batchUpdate("INSERT INTO item (id, name, description, status, email, version) VALUES (NEXT VALUE FOR item_seq, ?, ?, ?, ?, 0)", rows);
+        }
+    }
+
+    public static void resetStatuses(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("UPDATE item SET status = 'UNPROCESSED'");
+    }
+}
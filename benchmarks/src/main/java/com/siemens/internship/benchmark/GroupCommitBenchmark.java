@@ -0,0 +1,59 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.ItemCreateCoalescer;
+import com.siemens.internship.service.ItemService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts per second when {@value #THREADS} callers create one item each at a time, the way concurrent requests to
+ * the create endpoint do: every create in its own transaction through {@code ItemService.save}, or handed to the
+ * {@code ItemCreateCoalescer} which commits the creates that arrive together in one transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(GroupCommitBenchmark.THREADS)
+@Fork(1)
+public class GroupCommitBenchmark {
+    static final int THREADS = 16;
+
+    @Param({"false", "true"})
+    public boolean groupCommit;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private ItemCreateCoalescer createCoalescer;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start("group-commit-" + groupCommit,
+                "items.group-commit.enabled=" + groupCommit);
+        itemService = context.getBean(ItemService.class);
+        createCoalescer = groupCommit ? context.getBean(ItemCreateCoalescer.class) : null;
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearTable() {
+        jdbcTemplate.update("DELETE FROM item");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Item create() {
+        var item = new Item("name", "description", "email@email.com");
+        return groupCommit ? createCoalescer.create(item) : itemService.save(item);
+    }
+}
@@ -0,0 +1,95 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.service.ItemService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the bulkheads: latency of {@code GET /api/items/{id}} over HTTP while a sweep of {@code sweepSize}
+ * items runs again and again in the background, {@code sweeping=false} is the idle baseline. The connection pool has 10 connections in both cases. Without
+ * bulkheads the processing budget is the whole pool, as before, with them processing gets 6 connections and the
+ * interactive requests keep 4. The executor has more workers than the pool, the item cache is off so that every
+ * request reads from the database, and the simulated latency is off so that the sweep only does database work.
+ * <p>
+ * Sample time mode, so JMH reports the percentiles of the request latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(4)
+@Fork(1)
+public class InteractiveLatencyBenchmark {
+    @Param({"false", "true"})
+    boolean bulkheads;
+
+    @Param({"false", "true"})
+    boolean sweeping;
+
+    @Param({"50000"})
+    int sweepSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private List<Long> itemIds;
+    private Thread sweeper;
+    private volatile boolean sweeperRunning;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.startWeb("interactive-latency",
+                "spring.datasource.hikari.maximum-pool-size=10",
+                "items.bulkheads.interactive.max-concurrent-calls=" + (bulkheads ? 4 : 10),
+                "items.bulkheads.processing.max-concurrent-calls=" + (bulkheads ? 6 : 10),
+                "items.processing.executor.core-pool-size=20",
+                "items.processing.executor.max-pool-size=20",
+                "items.processing.simulated-latency=0ms",
+                "items.processing.deadline=10m",
+                "items.cache.maximum-size=0");
+        var itemService = context.getBean(ItemService.class);
+        var jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        BenchmarkApplication.seed(jdbcTemplate, sweepSize);
+        itemIds = jdbcTemplate.queryForList("SELECT id FROM item", Long.class);
+        httpClient = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:%s/api/items/".formatted(context.getEnvironment().getProperty("local.server.port"));
+
+        sweeperRunning = sweeping;
+        sweeper = new Thread(() -> {
+            while (sweeperRunning) {
+                BenchmarkApplication.resetStatuses(jdbcTemplate);
+                itemService.processItemsAsync(itemIds);
+            }
+        }, "Sweeper");
+        sweeper.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws InterruptedException {
+        sweeperRunning = false;
+        sweeper.join();
+        context.close();
+    }
+
+    @Benchmark
+    public int getItemById() throws Exception {
+        var id = itemIds.get(ThreadLocalRandom.current().nextInt(itemIds.size()));
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + id)).GET().build();
+        var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET %d returned %d".formatted(id, response.statusCode()));
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,71 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.BatchResult;
+import com.siemens.internship.service.ItemBatchService;
+import com.siemens.internship.service.ItemService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Rows per second when creating {@value #ROWS} items one {@code ItemService.save} at a time (what the single-item
+ * endpoint does per request) against one {@code ItemBatchService.createAll} call that persists them in JDBC batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemCreateBenchmark {
+    static final int ROWS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private ItemBatchService itemBatchService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start("item-create");
+        itemService = context.getBean(ItemService.class);
+        itemBatchService = context.getBean(ItemBatchService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearTable() {
+        jdbcTemplate.update("DELETE FROM item");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void singleItem(Blackhole blackhole) {
+        for (var item : newItems()) {
+            blackhole.consume(itemService.save(item));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public BatchResult batch() {
+        return itemBatchService.createAll(newItems());
+    }
+
+    private static List<Item> newItems() {
+        return IntStream.range(0, ROWS)
+                .mapToObj(i -> new Item("name" + i, "description" + i, "email" + i + "@email.com"))
+                .toList();
+    }
+}
@@ -0,0 +1,45 @@
+package com.siemens.internship.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Jackson serialization of the {@code List<Item>} bodies returned by {@code GET /api/items} and
+ * {@code /api/items/process}, using the same ObjectMapper defaults as the web layer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemSerializationBenchmark {
+    @Param({"1000", "100000"})
+    int size;
+
+    private List<Item> items;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        items = LongStream.range(0, size)
+                .mapToObj(id -> new Item(id, "name" + id, "description" + id, ItemStatus.PROCESSED, "email" + id + "@email.com"))
+                .toList();
+        writer = Jackson2ObjectMapperBuilder.json().build().writerFor(new TypeReference<List<Item>>() {
+        });
+    }
+
+    @Benchmark
+    public byte[] serializeItems() throws JsonProcessingException {
+        return writer.writeValueAsBytes(items);
+    }
+}
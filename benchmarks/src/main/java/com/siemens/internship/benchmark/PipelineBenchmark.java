@@ -0,0 +1,64 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ProcessingReport;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-item processing with one task per item against the pipeline of load, work and persist stages, on the same
+ * backlog and through the same retrying, windowed submission. {@code simulatedLatency} is the work stage, at 0 only
+ * the database work is compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PipelineBenchmark {
+    @Param({"false", "true"})
+    boolean pipeline;
+
+    @Param({"0ms", "2ms"})
+    String simulatedLatency;
+
+    @Param({"5000"})
+    int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private JdbcTemplate jdbcTemplate;
+    private List<Long> itemIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start("pipeline",
+                "items.processing.pipeline.enabled=" + pipeline,
+                "items.processing.simulated-latency=" + simulatedLatency);
+        itemService = context.getBean(ItemService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        BenchmarkApplication.seed(jdbcTemplate, batchSize);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetBacklog() {
+        BenchmarkApplication.resetStatuses(jdbcTemplate);
+        itemIds = itemService.findAllIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProcessingReport processItems() {
+        return itemService.processItemsAsync(itemIds);
+    }
+}
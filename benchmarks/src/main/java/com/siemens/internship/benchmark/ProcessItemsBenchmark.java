@@ -0,0 +1,87 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ProcessingReport;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ItemService.processItemsAsync} for 1k, 10k and 100k ids and both executor types. Every invocation processes
+ * the whole batch, starting from a table where every item is unprocessed. The primary score is batches/s, the items/s
+ * are the secondary result {@code items}.
+ * <p>
+ * The executor is given as {@code type:poolSize}, {@code max-in-flight} keeps the batch from overflowing the platform
+ * queue. The virtual thread executor needs JDK 21+, on an older JDK its trials fail in the setup and are left out
+ * of the result while the others run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProcessItemsBenchmark {
+    @Param({"1000", "10000", "100000"})
+    int batchSize;
+
+    @Param({"platform:10", "platform:50", "virtual:0"})
+    String executor;
+
+    @Param({"0ms", "2ms"})
+    String simulatedLatency;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private JdbcTemplate jdbcTemplate;
+    private List<Long> itemIds;
+
+    // processed items, JMH divides them by the time of the iteration
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ProcessedItems {
+        public long items;
+    }
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        var executorType = executor.split(":")[0];
+        var poolSize = executor.split(":")[1];
+        if (executorType.equals("virtual") && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Skipped, virtual threads need JDK 21+, running on %d"
+                    .formatted(Runtime.version().feature()));
+        }
+
+        context = BenchmarkApplication.start("process-items",
+                "items.processing.simulated-latency=" + simulatedLatency,
+                "items.processing.executor.type=" + executorType,
+                "items.processing.executor.core-pool-size=" + poolSize,
+                "items.processing.executor.max-pool-size=" + poolSize);
+        itemService = context.getBean(ItemService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        BenchmarkApplication.seed(jdbcTemplate, batchSize);
+    }
+
+    // not part of the measured time
+    @Setup(Level.Invocation)
+    public void resetBacklog() {
+        BenchmarkApplication.resetStatuses(jdbcTemplate);
+        itemIds = itemService.findAllIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProcessingReport processItemsAsync(ProcessedItems processed) {
+        var report = itemService.processItemsAsync(itemIds);
+        processed.items += report.processedItems().size();
+        return report;
+    }
+}
@@ -0,0 +1,69 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ProcessingReport;
+import com.siemens.internship.service.LeasedItemProcessor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-item path against the set based bulk and leased paths on the same backlog. The simulated latency is turned off so
+ * that only the database work is compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProcessingModeBenchmark {
+    @Param({"1000", "20000"})
+    int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private LeasedItemProcessor leasedItemProcessor;
+    private JdbcTemplate jdbcTemplate;
+    private List<Long> itemIds;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start("processing-mode", "items.processing.simulated-latency=0ms");
+        itemService = context.getBean(ItemService.class);
+        leasedItemProcessor = context.getBean(LeasedItemProcessor.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        BenchmarkApplication.seed(jdbcTemplate, batchSize);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetBacklog() {
+        BenchmarkApplication.resetStatuses(jdbcTemplate);
+        itemIds = itemService.findAllIds();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProcessingReport perItem() {
+        return itemService.processItemsAsync(itemIds);
+    }
+
+    @Benchmark
+    public List<Item> bulk() {
+        return itemService.processItemsInBulk(itemIds);
+    }
+
+    @Benchmark
+    public List<Item> leased() {
+        return leasedItemProcessor.process(itemIds);
+    }
+}
@@ -0,0 +1,65 @@
+package com.siemens.internship.benchmark;
+
+import com.siemens.internship.repository.ItemRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The backlog queries against a million rows of which 1% is unprocessed, with the index created by the migrations
+ * and with it dropped, which is the full scan the table had before.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnprocessedLookupBenchmark {
+    @Param({"1000000"})
+    int rows;
+
+    @Param({"100"})
+    int unprocessedEvery;
+
+    @Param({"true", "false"})
+    boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private ItemRepository itemRepository;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        // H2 hands back the previous result of an identical query while the table is unchanged, which would hide the scan
+        context = BenchmarkApplication.start("unprocessed-lookup;OPTIMIZE_REUSE_RESULTS=FALSE");
+        itemRepository = context.getBean(ItemRepository.class);
+
+        var jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkApplication.seed(jdbcTemplate, rows, unprocessedEvery);
+        if (!indexed) {
+            jdbcTemplate.execute("DROP INDEX item_status_id_idx");
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Long> findAllIds() {
+        return itemRepository.findAllIds();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Long> findUnprocessedIds() {
+        return itemRepository.findUnprocessedIds(Limit.of(500));
+    }
+}
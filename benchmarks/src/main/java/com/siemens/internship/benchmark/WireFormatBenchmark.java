@@ -0,0 +1,101 @@
+package com.siemens.internship.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.siemens.internship.controller.ItemSerializers;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemSummary;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Nanoseconds per item to serialize the {@value #ITEMS} item body of {@code GET /api/items} in every wire format, and
+ * the bytes per item on the wire, plain and gzipped, as the secondary results {@code bytesPerItem} and
+ * {@code gzippedBytesPerItem} of the JMH result. {@code json-beans} is the JSON of the bean serializer as it was, the
+ * other formats use the {@link ItemSerializers}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+    static final int ITEMS = 1000;
+
+    @Param({"json-beans", "json", "cbor", "smile"})
+    String format;
+
+    private List<ItemSummary> items;
+    private ObjectWriter writer;
+    private double bytesPerItem;
+    private double gzippedBytesPerItem;
+
+    // the size of the body doesn't change, it is only reported through this state so that it ends up in the result
+    // file next to the time. JMH sums these counters over the measurement iterations, so only the first one counts it
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        public double bytesPerItem;
+        public double gzippedBytesPerItem;
+        private boolean counted;
+
+        @TearDown(Level.Iteration)
+        public void tearDown(IterationParams iteration) {
+            counted |= iteration.getType() == IterationType.MEASUREMENT;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        items = LongStream.range(0, ITEMS)
+                .mapToObj(id -> new ItemSummary(id, "name" + id, "description" + id,
+                        id % 2 == 0 ? ItemStatus.PROCESSED : ItemStatus.UNPROCESSED, "email" + id + "@email.com", 1L))
+                .toList();
+
+        var builder = Jackson2ObjectMapperBuilder.json();
+        if (!format.equals("json-beans")) {
+            builder.modulesToInstall(new SimpleModule()
+                    .addSerializer(new ItemSerializers.ItemSerializer())
+                    .addSerializer(new ItemSerializers.ItemSummarySerializer()));
+        }
+        builder.factory(switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        });
+        writer = builder.build().writerFor(new TypeReference<List<ItemSummary>>() {
+        });
+
+        var body = writer.writeValueAsBytes(items);
+        var gzipped = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(body);
+        }
+        bytesPerItem = (double) body.length / ITEMS;
+        gzippedBytesPerItem = (double) gzipped.size() / ITEMS;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public byte[] serialize(WireSize wireSize) throws IOException {
+        if (!wireSize.counted) {
+            wireSize.bytesPerItem = bytesPerItem;
+            wireSize.gzippedBytesPerItem = gzippedBytesPerItem;
+        }
+        return writer.writeValueAsBytes(items);
+    }
+}
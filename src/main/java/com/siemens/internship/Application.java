@@ -1,29 +1,29 @@
 package com.siemens.internship;
 
+import com.siemens.internship.config.ItemAdmissionProperties;
+import com.siemens.internship.config.ItemBatchProperties;
+import com.siemens.internship.config.ItemBulkheadProperties;
+import com.siemens.internship.config.ItemCacheProperties;
+import com.siemens.internship.config.ItemChangeFeedProperties;
+import com.siemens.internship.config.ItemGroupCommitProperties;
+import com.siemens.internship.config.ItemImportProperties;
+import com.siemens.internship.config.ItemProcessingProperties;
+import com.siemens.internship.config.ItemReplicaProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-
-import java.util.concurrent.Executor;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
+@EnableConfigurationProperties({ItemProcessingProperties.class, ItemCacheProperties.class, ItemBatchProperties.class,
+        ItemBulkheadProperties.class, ItemAdmissionProperties.class, ItemGroupCommitProperties.class,
+        ItemChangeFeedProperties.class, ItemReplicaProperties.class, ItemImportProperties.class})
 public class Application {
 
     public static void main(String[] args) {
         SpringApplication.run(Application.class, args);
     }
-
-    @Bean
-    public Executor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(10);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(500);
-        executor.setThreadNamePrefix("ItemProcessor-");
-        executor.initialize();
-        return executor;
-    }
 }
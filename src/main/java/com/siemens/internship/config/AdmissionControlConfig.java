@@ -0,0 +1,30 @@
+package com.siemens.internship.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siemens.internship.controller.AdmissionControlFilter;
+import com.siemens.internship.service.AdmissionControl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Puts the {@link AdmissionControlFilter} in front of the item endpoints, ahead of the other filters so that a refused
+ * request costs as little as possible.
+ */
+@Configuration
+public class AdmissionControlConfig {
+
+    @Bean
+    @ConditionalOnProperty(value = "items.admission.enabled", matchIfMissing = true)
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionControl admissionControl,
+                                                                                 ObjectMapper objectMapper,
+                                                                                 ItemAdmissionProperties properties) {
+        var registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(admissionControl, objectMapper, properties.retryAfter()));
+        registration.addUrlPatterns("/api/items", "/api/items/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,37 @@
+package com.siemens.internship.config;
+
+import com.siemens.internship.controller.InteractiveBulkheadInterceptor;
+import com.siemens.internship.service.Bulkheads;
+import com.siemens.internship.service.ConnectionBudget;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+/**
+ * Connection budgets of the two bulkheads, see {@link Bulkheads}. The processing endpoints only start work that runs
+ * under the processing budget, so they are left out of the interactive one. So is an import, which spends most of its
+ * time waiting for the client's body and only takes an interactive permit while it commits a chunk.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    @Bean
+    public ConnectionBudget interactiveConnectionBudget(ItemBulkheadProperties properties) {
+        return new ConnectionBudget(Bulkheads.INTERACTIVE, properties.interactive().maxConcurrentCalls());
+    }
+
+    @Bean
+    public ConnectionBudget processingConnectionBudget(ItemBulkheadProperties properties) {
+        return new ConnectionBudget(Bulkheads.PROCESSING, properties.processing().maxConcurrentCalls());
+    }
+
+    @Bean
+    public MappedInterceptor interactiveBulkheadInterceptor(@Qualifier("interactiveConnectionBudget") ConnectionBudget budget,
+                                                            ItemBulkheadProperties properties) {
+        return new MappedInterceptor(
+                new String[]{"/api/items/**"},
+                new String[]{"/api/items/process", "/api/items/process/**", "/api/items/scheduler/**", "/api/items/import"},
+                new InteractiveBulkheadInterceptor(budget, properties.interactive().maxWait()));
+    }
+}
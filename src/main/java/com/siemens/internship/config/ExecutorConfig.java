@@ -0,0 +1,84 @@
+package com.siemens.internship.config;
+
+import com.siemens.internship.service.QueuedTasks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors of the processing pipeline. {@code taskExecutor} is the name Spring looks for when running
+ * {@code @Async} methods.
+ */
+@Configuration
+public class ExecutorConfig {
+    private static final String THREAD_NAME_PREFIX = "ItemProcessor-";
+
+    @Bean
+    public Executor taskExecutor(ItemProcessingProperties processingProperties, MeterRegistry meterRegistry) {
+        var executorProperties = processingProperties.executor();
+
+        return switch (executorProperties.type()) {
+            case PLATFORM -> platformTaskExecutor(executorProperties, meterRegistry);
+            case VIRTUAL -> virtualTaskExecutor();
+        };
+    }
+
+    // Runs the submission loop of processing jobs and requests, so that the request thread is not held while the
+    // items are processed. The job registry bounds the running jobs and admission control the processing requests,
+    // the concurrency limit is the bound when admission control is off: a task over it waits on the calling thread
+    @Bean
+    public Executor processingJobExecutor(ItemProcessingProperties processingProperties) {
+        var executor = new SimpleAsyncTaskExecutor("ProcessingJob-");
+        executor.setConcurrencyLimit(processingProperties.jobs().maxThreads());
+        return executor;
+    }
+
+    // Runs the loop of the background ProcessingScheduler
+    @Bean
+    public Executor processingSchedulerExecutor() {
+        return new SimpleAsyncTaskExecutor("ProcessingScheduler-");
+    }
+
+    // active threads and queue size are bound by the actuator to executor.* meters tagged with name=taskExecutor
+    private Executor platformTaskExecutor(ItemProcessingProperties.Executor executorProperties, MeterRegistry meterRegistry) {
+        var rejections = Counter.builder("executor.rejected")
+                .description("Tasks rejected because the executor queue was full")
+                .tag("name", "taskExecutor")
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(executorProperties.corePoolSize());
+        executor.setMaxPoolSize(executorProperties.maxPoolSize());
+        executor.setQueueCapacity(executorProperties.queueCapacity());
+        executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        // lets a cancelled processing request take its tasks that haven't started yet off the queue
+        executor.setTaskDecorator(task -> {
+            QueuedTasks.queued(() -> executor.getThreadPoolExecutor().remove(task));
+            return task;
+        });
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejections.increment();
+            new ThreadPoolExecutor.AbortPolicy().rejectedExecution(task, pool);
+        });
+        executor.initialize();
+        return executor;
+    }
+
+    // No thread count or queue to size here, the processing ConnectionBudget is what bounds the tasks touching the database
+    private Executor virtualTaskExecutor() {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("items.processing.executor.type=virtual requires JDK 21+, running on %s"
+                    .formatted(Runtime.version()));
+        }
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(THREAD_NAME_PREFIX);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
@@ -0,0 +1,8 @@
+package com.siemens.internship.config;
+
+public enum ExecutorType {
+    // fixed pool of platform threads in front of a bounded queue
+    PLATFORM,
+    // one virtual thread per task, requires JDK 21+
+    VIRTUAL
+}
@@ -0,0 +1,53 @@
+package com.siemens.internship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Admission control of the item endpoints, bound from {@code items.admission}. Every endpoint class has its own
+ * adaptive concurrency limit, the tuning settings are shared.
+ *
+ * @param enabled       whether requests are limited at all
+ * @param retryAfter    sent in the {@code Retry-After} header of a refused request
+ * @param smoothing     share of the computed limit taken over at every update, between 0 and 1
+ * @param alpha         the limit grows while fewer than {@code alpha * log10(limit)} requests are estimated to wait
+ * @param beta          the limit shrinks while more than {@code beta * log10(limit)} requests are estimated to wait
+ * @param windowSize    completed requests per update of the limit
+ * @param probeInterval updates after which the latency without load is measured again
+ * @param read          GET requests for items
+ * @param write         requests creating, updating or deleting items
+ * @param process       processing and scheduler requests
+ */
+@ConfigurationProperties("items.admission")
+public record ItemAdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1s") Duration retryAfter,
+        @DefaultValue("1.0") double smoothing,
+        @DefaultValue("3") double alpha,
+        @DefaultValue("6") double beta,
+        @DefaultValue("20") int windowSize,
+        @DefaultValue("500") int probeInterval,
+        @DefaultValue Read read,
+        @DefaultValue Write write,
+        @DefaultValue Process process) {
+
+    public record Read(
+            @DefaultValue("50") int initialLimit,
+            @DefaultValue("10") int minLimit,
+            @DefaultValue("200") int maxLimit) {
+    }
+
+    public record Write(
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("5") int minLimit,
+            @DefaultValue("100") int maxLimit) {
+    }
+
+    public record Process(
+            @DefaultValue("4") int initialLimit,
+            @DefaultValue("1") int minLimit,
+            @DefaultValue("10") int maxLimit) {
+    }
+}
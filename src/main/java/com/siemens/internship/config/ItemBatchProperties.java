@@ -0,0 +1,17 @@
+package com.siemens.internship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the bulk create and update endpoints, bound from {@code items.batch}.
+ *
+ * @param maxSize   most elements accepted in one request
+ * @param flushSize elements persisted before the persistence context is flushed and cleared, should be a multiple of
+ *                  {@code hibernate.jdbc.batch_size}
+ */
+@ConfigurationProperties("items.batch")
+public record ItemBatchProperties(
+        @DefaultValue("1000") int maxSize,
+        @DefaultValue("500") int flushSize) {
+}
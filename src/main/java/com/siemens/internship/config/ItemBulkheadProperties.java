@@ -0,0 +1,36 @@
+package com.siemens.internship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Connection budgets of the interactive requests and of the processing tasks, bound from {@code items.bulkheads}.
+ * Together they should not exceed the connection pool, otherwise the two sides still compete for connections.
+ *
+ * @param interactive the item endpoints other than processing
+ * @param processing  the per-item, bulk and leased processors, whoever started them
+ */
+@ConfigurationProperties("items.bulkheads")
+public record ItemBulkheadProperties(
+        @DefaultValue Interactive interactive,
+        @DefaultValue Processing processing) {
+
+    /**
+     * @param maxConcurrentCalls requests handled at once
+     * @param maxWait            how long a request waits for a permit before it is answered with 503
+     */
+    public record Interactive(
+            @DefaultValue("10") int maxConcurrentCalls,
+            @DefaultValue("100ms") Duration maxWait) {
+    }
+
+    /**
+     * @param maxConcurrentCalls processing tasks or chunks talking to the database at once, the threads running the
+     *                           tasks are configured by {@code items.processing.executor}
+     */
+    public record Processing(
+            @DefaultValue("10") int maxConcurrentCalls) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.siemens.internship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the read-through cache in front of {@code ItemService.findById}, bound from {@code items.cache}.
+ *
+ * @param maximumSize maximum number of cached ids, found or not
+ * @param ttl         how long a found item stays cached
+ * @param negativeTtl how long an id that was not found stays cached as missing
+ */
+@ConfigurationProperties("items.cache")
+public record ItemCacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("5m") Duration ttl,
+        @DefaultValue("30s") Duration negativeTtl) {
+}
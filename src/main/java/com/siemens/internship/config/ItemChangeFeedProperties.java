@@ -0,0 +1,24 @@
+package com.siemens.internship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * The change feed of the items, bound from {@code items.changes}.
+ *
+ * @param retention     changes kept in memory, a client whose cursor is older than that has to resync
+ * @param maxPageSize   most changes returned by one {@code GET /api/items/changes}
+ * @param maxStreams    Server-Sent Events streams open at once
+ * @param streamTimeout how long a stream stays open, the client then reconnects with the id of the last event
+ * @param heartbeat     how often an idle stream gets a comment, which is also how a closed connection is noticed
+ */
+@ConfigurationProperties("items.changes")
+public record ItemChangeFeedProperties(
+        @DefaultValue("10000") int retention,
+        @DefaultValue("1000") int maxPageSize,
+        @DefaultValue("100") int maxStreams,
+        @DefaultValue("30m") Duration streamTimeout,
+        @DefaultValue("15s") Duration heartbeat) {
+}
@@ -0,0 +1,23 @@
+package com.siemens.internship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Group commit of single item creates, bound from {@code items.group-commit}.
+ *
+ * @param enabled      whether {@code POST /api/items} goes through the group commit, off by default
+ * @param maxBatchSize most creates committed together, at most {@code items.batch.max-size}
+ * @param maxWait      how long the first create of a group waits for others to join it, creates arriving while a
+ *                     group commits always form the next group, so 0 only groups what piles up meanwhile
+ * @param timeout      how long a create waits for its group to commit before it is answered with 503
+ */
+@ConfigurationProperties("items.group-commit")
+public record ItemGroupCommitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100") int maxBatchSize,
+        @DefaultValue("2ms") Duration maxWait,
+        @DefaultValue("5s") Duration timeout) {
+}
@@ -0,0 +1,19 @@
+package com.siemens.internship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * NDJSON imports, bound from {@code items.imports}.
+ *
+ * @param chunkSize     lines committed in one transaction together with the checkpoint, at most
+ *                      {@code items.batch.max-size}
+ * @param maxErrors     failed lines reported in the response, the rest are only counted
+ * @param maxLineLength longest line in characters, a longer one fails without being buffered
+ */
+@ConfigurationProperties("items.imports")
+public record ItemImportProperties(
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("100") int maxErrors,
+        @DefaultValue("65536") int maxLineLength) {
+}
@@ -0,0 +1,159 @@
+package com.siemens.internship.config;
+
+import com.siemens.internship.service.ProcessingMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings for the item processing pipeline, bound from the {@code items.processing} prefix.
+ *
+ * @param mode             how {@code /api/items/process} processes the backlog
+ * @param bulkChunkSize    number of ids claimed and updated per statement in {@link ProcessingMode#BULK} mode
+ * @param simulatedLatency artificial work done for every item by the per-item processor
+ * @param deadline         how long a processing request may take when it doesn't set its own deadline, the items not
+ *                         started by then are cancelled
+ * @param maxInFlight      how many per-item tasks may sit on the executor at once. For the platform executor it must
+ *                         not exceed the queue capacity, since a worker still counts as busy while it runs the
+ *                         completion callback that frees a slot
+ * @param executor         the executor running the {@code @Async} item tasks
+ * @param jobs             the in-memory registry of processing jobs
+ * @param lease            claiming of chunks in {@link ProcessingMode#LEASED} mode
+ * @param scheduler        the background scheduler draining the backlog
+ * @param retry            retries of failed per-item tasks
+ * @param circuitBreaker   stops per-item processing for a while when most recent tasks failed
+ * @param pipeline         runs the per-item tasks as a pipeline of stages instead of one task per item
+ */
+@ConfigurationProperties("items.processing")
+public record ItemProcessingProperties(
+        @DefaultValue("per-item") ProcessingMode mode,
+        @DefaultValue("500") int bulkChunkSize,
+        @DefaultValue("100ms") Duration simulatedLatency,
+        @DefaultValue("30s") Duration deadline,
+        @DefaultValue("500") int maxInFlight,
+        @DefaultValue Executor executor,
+        @DefaultValue Jobs jobs,
+        @DefaultValue Lease lease,
+        @DefaultValue Scheduler scheduler,
+        @DefaultValue Retry retry,
+        @DefaultValue CircuitBreaker circuitBreaker,
+        @DefaultValue Pipeline pipeline) {
+
+    /**
+     * @param type          platform thread pool or virtual thread per task
+     * @param corePoolSize  platform only
+     * @param maxPoolSize   platform only
+     * @param queueCapacity platform only
+     */
+    public record Executor(
+            @DefaultValue("platform") ExecutorType type,
+            @DefaultValue("10") int corePoolSize,
+            @DefaultValue("10") int maxPoolSize,
+            @DefaultValue("500") int queueCapacity) {
+    }
+
+    /**
+     * @param maxJobs    how many jobs are kept at once, running or completed
+     * @param ttl        how long a completed job and its results stay available
+     * @param maxThreads threads of the job executor, which runs the jobs and the processing requests; one over it
+     *                   waits for a thread, so it is kept above {@code maxJobs} for a job never to wait
+     */
+    public record Jobs(
+            @DefaultValue("100") int maxJobs,
+            @DefaultValue("10m") Duration ttl,
+            @DefaultValue("120") int maxThreads) {
+    }
+
+    /**
+     * @param ttl how long a claimed chunk stays reserved for its owner, after that another instance can claim it again
+     */
+    public record Lease(
+            @DefaultValue("1m") Duration ttl) {
+    }
+
+    /**
+     * @param enabled            start the scheduler with the application, it can be started and stopped at runtime
+     *                           either way
+     * @param initialBatchSize   batch size the scheduler starts with
+     * @param minBatchSize       lower bound when shrinking
+     * @param maxBatchSize       upper bound when growing
+     * @param batchSizeIncrement added to the batch size after a batch that finished within the target latency
+     * @param targetLatency      a batch taking longer than this halves the batch size
+     * @param minIdleBackoff     first wait after a batch that made no progress, doubled with every further one
+     * @param maxIdleBackoff     upper bound of the idle wait
+     */
+    public record Scheduler(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("100") int initialBatchSize,
+            @DefaultValue("10") int minBatchSize,
+            @DefaultValue("5000") int maxBatchSize,
+            @DefaultValue("50") int batchSizeIncrement,
+            @DefaultValue("2s") Duration targetLatency,
+            @DefaultValue("500ms") Duration minIdleBackoff,
+            @DefaultValue("30s") Duration maxIdleBackoff) {
+    }
+
+    /**
+     * @param maxAttempts    attempts per item including the first one, 1 disables retrying
+     * @param initialBackoff wait before the second attempt, multiplied by {@code multiplier} for every further one
+     * @param maxBackoff     upper bound of the wait
+     * @param multiplier     growth of the wait between attempts
+     */
+    public record Retry(
+            @DefaultValue("3") int maxAttempts,
+            @DefaultValue("100ms") Duration initialBackoff,
+            @DefaultValue("2s") Duration maxBackoff,
+            @DefaultValue("2.0") double multiplier) {
+    }
+
+    /**
+     * @param failureRateThreshold share of failed attempts in the window that opens the circuit
+     * @param slidingWindowSize    number of most recent attempts the failure rate is computed over
+     * @param minimumCalls         attempts needed in the window before the failure rate is looked at
+     * @param openDuration         how long attempts are rejected once open, before trial attempts are let through
+     * @param halfOpenCalls        trial attempts that have to succeed to close the circuit again
+     */
+    public record CircuitBreaker(
+            @DefaultValue("0.5") double failureRateThreshold,
+            @DefaultValue("50") int slidingWindowSize,
+            @DefaultValue("20") int minimumCalls,
+            @DefaultValue("10s") Duration openDuration,
+            @DefaultValue("5") int halfOpenCalls) {
+    }
+
+    /**
+     * @param enabled whether the per-item tasks go through the {@link com.siemens.internship.service.ItemPipeline}
+     *                instead of the {@code UpdateItemProcessor}
+     * @param stages  bean names of the {@link com.siemens.internship.service.ItemStage}s in the order the items go
+     *                through them
+     * @param stage   settings by stage name, a stage left out runs on one thread with batches of one
+     */
+    public record Pipeline(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue({"load", "work", "persist"}) List<String> stages,
+            Map<String, Stage> stage) {
+
+        public Stage settingsOf(String name) {
+            return stage != null && stage.containsKey(name) ? stage.get(name) : Stage.DEFAULT;
+        }
+    }
+
+    /**
+     * @param concurrency   threads of the stage, the ones talking to the database count against the processing
+     *                      bulkhead
+     * @param queueCapacity items waiting for the stage, a full queue blocks the stage in front of it
+     * @param batchSize     most items handed to the stage at once
+     * @param maxBatchWait  how long the first item of a batch waits for more, 0 only batches what is already queued
+     */
+    public record Stage(
+            @DefaultValue("1") int concurrency,
+            @DefaultValue("500") int queueCapacity,
+            @DefaultValue("1") int batchSize,
+            @DefaultValue("0ms") Duration maxBatchWait) {
+
+        static final Stage DEFAULT = new Stage(1, 500, 1, Duration.ZERO);
+    }
+}
@@ -0,0 +1,32 @@
+package com.siemens.internship.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas of the item database, bound from {@code items.replicas}. The primary stays
+ * {@code spring.datasource}.
+ *
+ * @param enabled              whether the item reads that may be stale go to the replicas
+ * @param nodes                the replicas, the reads are spread over them in turn
+ * @param maximumPoolSize      connections per replica
+ * @param connectionTimeout    how long a read waits for a connection of a replica before it goes to the primary
+ * @param readYourWritesWindow how long a client reads from the primary after it changed an item, 0 turns it off
+ * @param migrate              whether the Flyway migrations also run on every replica, for local databases that
+ *                             don't replicate anything. Real replicas get the schema from the primary
+ */
+@ConfigurationProperties("items.replicas")
+public record ItemReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Node> nodes,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("1s") Duration connectionTimeout,
+        @DefaultValue("5s") Duration readYourWritesWindow,
+        @DefaultValue("false") boolean migrate) {
+
+    public record Node(String url, String username, String password) {
+    }
+}
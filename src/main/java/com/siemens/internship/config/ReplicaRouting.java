@@ -0,0 +1,53 @@
+package com.siemens.internship.config;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Says which reads of the current thread may go to a replica. Only reads that asked for it with
+ * {@link #preferReplica()} and run in a read-only transaction (or in none) are routed there, so everything else,
+ * writes and the processing included, keeps reading from the primary without having to know about replicas.
+ * {@link #pinToPrimary()} overrides the preference, for clients that have to see their own writes.
+ * <p>
+ * Without {@code items.replicas.enabled} there is only the primary and both are no-ops.
+ */
+public final class ReplicaRouting {
+    private static final ThreadLocal<Boolean> replicaPreferred = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> primaryPinned = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static Scope preferReplica() {
+        return set(replicaPreferred);
+    }
+
+    public static Scope pinToPrimary() {
+        return set(primaryPinned);
+    }
+
+    /**
+     * Whether a read of the current thread would go to a replica, if there are any.
+     */
+    public static boolean useReplica() {
+        return replicaPreferred.get() != null
+                && primaryPinned.get() == null
+                && (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+    }
+
+    // nested scopes leave the flag to the outermost one
+    private static Scope set(ThreadLocal<Boolean> flag) {
+        if (flag.get() != null) {
+            return () -> {
+            };
+        }
+
+        flag.set(Boolean.TRUE);
+        return flag::remove;
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,94 @@
+package com.siemens.internship.config;
+
+import com.siemens.internship.controller.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured data source by a {@link ReplicaRoutingDataSource} over the primary
+ * ({@code spring.datasource}, pool settings included) and the replicas of {@code items.replicas}. The lazy proxy in
+ * front of it makes a transaction take its connection on the first statement, once the routing can be decided.
+ */
+@Configuration
+@ConditionalOnProperty("items.replicas.enabled")
+public class ReplicaRoutingConfig {
+
+    // not injectable, it is only there so that the context closes its pools
+    @Bean(autowireCandidate = false)
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ItemReplicaProperties properties,
+                                                             Environment environment) {
+        var primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int index = 0; index < properties.nodes().size(); index++) {
+            var node = properties.nodes().get(index);
+            var replica = new HikariDataSource();
+            replica.setPoolName("replica-" + index);
+            replica.setJdbcUrl(node.url());
+            replica.setUsername(node.username());
+            replica.setPassword(node.password());
+            replica.setMaximumPoolSize(properties.maximumPoolSize());
+            replica.setConnectionTimeout(properties.connectionTimeout().toMillis());
+            // a replica that is down at startup is skipped until it is back
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 ItemReplicaProperties properties,
+                                 Environment environment) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource(dataSourceProperties, properties, environment));
+    }
+
+    /**
+     * Local replicas replicate nothing, so they get the schema the same way as the primary.
+     */
+    @Bean
+    @ConditionalOnProperty("items.replicas.migrate")
+    public FlywayMigrationStrategy replicaMigrationStrategy(ItemReplicaProperties properties) {
+        return flyway -> {
+            flyway.migrate();
+            for (var node : properties.nodes()) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(node.url(), node.username(), node.password())
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ItemReplicaProperties properties) {
+        var registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(properties.readYourWritesWindow(), Clock.systemUTC()));
+        registration.addUrlPatterns("/api/items", "/api/items/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        registration.setEnabled(!properties.readYourWritesWindow().isZero());
+        return registration;
+    }
+}
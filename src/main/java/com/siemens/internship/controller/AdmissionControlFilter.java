@@ -0,0 +1,138 @@
+package com.siemens.internship.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siemens.internship.service.AdaptiveConcurrencyLimit;
+import com.siemens.internship.service.AdmissionControl;
+import com.siemens.internship.service.EndpointClass;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Admission control in front of the item endpoints. A request over the limit of its {@link EndpointClass} is answered
+ * with 503 and a {@code Retry-After} header right away, before it takes a thread of the application or a connection.
+ * The latency of an admitted request is measured until its response is complete, for async requests too, and fed
+ * back to the limit. Responses with a 5xx status are not sampled, neither are the whole table streams, exports and
+ * imports, which take as long as the table or the body is large. A change stream only counts until it is open, it
+ * then stays open for as long as the client listens.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private static final Set<String> TRANSFER_PATHS = Set.of("/api/items/stream", "/api/items/export", "/api/items/import");
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+
+    public AdmissionControlFilter(AdmissionControl admissionControl, ObjectMapper objectMapper, Duration retryAfter) {
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var endpointClass = classify(request);
+        var limit = admissionControl.tryAdmit(endpointClass);
+        if (limit == null) {
+            reject(response, endpointClass);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            limit.onIgnored();
+            throw e;
+        }
+
+        if (request.isAsyncStarted() && isChangeStream(request)) {
+            limit.onIgnored();
+        } else if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(new CompletionListener(limit, start, isTransfer(request)));
+        } else {
+            complete(limit, start, response, isTransfer(request));
+        }
+    }
+
+    static EndpointClass classify(HttpServletRequest request) {
+        var path = pathOf(request);
+        if (path.startsWith("/api/items/process") || path.startsWith("/api/items/scheduler")) {
+            return EndpointClass.PROCESS;
+        }
+
+        var method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? EndpointClass.READ : EndpointClass.WRITE;
+    }
+
+    private static boolean isChangeStream(HttpServletRequest request) {
+        return pathOf(request).equals("/api/items/changes/stream");
+    }
+
+    private static boolean isTransfer(HttpServletRequest request) {
+        return TRANSFER_PATHS.contains(pathOf(request));
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private void reject(HttpServletResponse response, EndpointClass endpointClass) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        var detail = "Too many concurrent %s requests, try again later".formatted(endpointClass.name().toLowerCase());
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(Set.of(detail)));
+    }
+
+    private static void complete(AdaptiveConcurrencyLimit limit, long start, HttpServletResponse response,
+                                 boolean transfer) {
+        if (transfer || response.getStatus() >= 500) {
+            limit.onIgnored();
+        } else {
+            limit.onSample(System.nanoTime() - start);
+        }
+    }
+
+    // called after a timeout or an error as well, once the async request is complete
+    private static class CompletionListener implements AsyncListener {
+        private final AdaptiveConcurrencyLimit limit;
+        private final long start;
+        private final boolean transfer;
+
+        CompletionListener(AdaptiveConcurrencyLimit limit, long start, boolean transfer) {
+            this.limit = limit;
+            this.start = start;
+            this.transfer = transfer;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            complete(limit, start, (HttpServletResponse) event.getSuppliedResponse(), transfer);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.service.BulkheadStatus;
+import com.siemens.internship.service.Bulkheads;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/bulkheads")
+public class BulkheadController {
+    private final Bulkheads bulkheads;
+
+    public BulkheadController(Bulkheads bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<BulkheadStatus>> getBulkheads() {
+        return new ResponseEntity<>(bulkheads.getStatus(), HttpStatus.OK);
+    }
+
+    @GetMapping("/{name}")
+    public ResponseEntity<BulkheadStatus> getBulkhead(@PathVariable String name) {
+        return new ResponseEntity<>(bulkheads.getStatus(name), HttpStatus.OK);
+    }
+
+    @PutMapping("/{name}")
+    public ResponseEntity<BulkheadStatus> resizeBulkhead(@PathVariable String name,
+                                                         @RequestBody @Valid BulkheadResizeRequest request) {
+        var status = bulkheads.resize(name, request.maxConcurrentCalls(), request.threads());
+        return new ResponseEntity<>(status, HttpStatus.OK);
+    }
+}
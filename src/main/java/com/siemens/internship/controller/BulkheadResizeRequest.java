@@ -0,0 +1,11 @@
+package com.siemens.internship.controller;
+
+import jakarta.validation.constraints.Min;
+
+/**
+ * Fields left out keep their current value.
+ */
+public record BulkheadResizeRequest(
+        @Min(value = 1, message = "maxConcurrentCalls must be at least 1") Integer maxConcurrentCalls,
+        @Min(value = 1, message = "threads must be at least 1") Integer threads) {
+}
@@ -1,13 +1,24 @@
 package com.siemens.internship.controller;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.siemens.internship.service.BatchTooLargeException;
+import com.siemens.internship.service.BulkheadFullException;
+import com.siemens.internship.service.BulkheadResizeException;
+import com.siemens.internship.service.ChangeFeedExpiredException;
+import com.siemens.internship.service.GroupCommitUnavailableException;
+import com.siemens.internship.service.ImportConflictException;
+import com.siemens.internship.service.InvalidCursorException;
+import com.siemens.internship.service.PreconditionFailedException;
+import com.siemens.internship.service.ProcessingJobLimitException;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -29,4 +40,72 @@ public class DefaultExceptionHandler {
         var errorDetails = Set.of(e.getMessage());
         return new ResponseEntity<>(new ErrorResponse(errorDetails), HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler(ProcessingJobLimitException.class)
+    public ResponseEntity<ErrorResponse> handle(ProcessingJobLimitException e) {
+        var errorDetails = Set.of(e.getMessage());
+        return new ResponseEntity<>(new ErrorResponse(errorDetails), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ErrorResponse> handle(BulkheadFullException e) {
+        var errorDetails = Set.of(e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(errorDetails));
+    }
+
+    @ExceptionHandler(GroupCommitUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handle(GroupCommitUnavailableException e) {
+        var errorDetails = Set.of(e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(errorDetails));
+    }
+
+    @ExceptionHandler(BulkheadResizeException.class)
+    public ResponseEntity<ErrorResponse> handle(BulkheadResizeException e) {
+        var errorDetails = Set.of(e.getMessage());
+        return new ResponseEntity<>(new ErrorResponse(errorDetails), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handle(BatchTooLargeException e) {
+        var errorDetails = Set.of(e.getMessage());
+        return new ResponseEntity<>(new ErrorResponse(errorDetails), HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handle(InvalidCursorException e) {
+        var errorDetails = Set.of(e.getMessage());
+        return new ResponseEntity<>(new ErrorResponse(errorDetails), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ChangeFeedExpiredException.class)
+    public ResponseEntity<ErrorResponse> handle(ChangeFeedExpiredException e) {
+        var errorDetails = Set.of(e.getMessage());
+        return new ResponseEntity<>(new ErrorResponse(errorDetails), HttpStatus.GONE);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handle(PreconditionFailedException e) {
+        var errorDetails = Set.of(e.getMessage());
+        return new ResponseEntity<>(new ErrorResponse(errorDetails), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(ImportConflictException.class)
+    public ResponseEntity<ErrorResponse> handle(ImportConflictException e) {
+        var errorDetails = Set.of(e.getMessage());
+        return new ResponseEntity<>(new ErrorResponse(errorDetails), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponse> handle(HandlerMethodValidationException e) {
+        var violations = e.getAllValidationResults().stream()
+                .flatMap(result -> result.getResolvableErrors().stream()
+                        .map(error -> "%s %s".formatted(result.getMethodParameter().getParameterName(), error.getDefaultMessage())))
+                .collect(Collectors.toSet());
+
+        return new ResponseEntity<>(new ErrorResponse(violations), HttpStatus.BAD_REQUEST);
+    }
 }
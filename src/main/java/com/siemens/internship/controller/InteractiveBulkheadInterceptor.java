@@ -0,0 +1,116 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.service.BulkheadFullException;
+import com.siemens.internship.service.ConnectionBudget;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds a permit of the interactive {@link ConnectionBudget} while an item request is handled, a request that can't
+ * get one within {@code maxWait} is rejected with 503 instead of queueing for a connection.
+ * <p>
+ * A streamed body ({@link StreamingResponseBody}) reads the items through a database cursor while it is written, so
+ * its request keeps the permit until the async request completed. The other async requests, the change stream and
+ * the processing ones, don't hold a connection once started and give the permit back right away.
+ */
+public class InteractiveBulkheadInterceptor implements AsyncHandlerInterceptor {
+    private static final String PERMIT_ATTRIBUTE = InteractiveBulkheadInterceptor.class.getName() + ".permit";
+    private final ConnectionBudget budget;
+    private final Duration maxWait;
+
+    public InteractiveBulkheadInterceptor(ConnectionBudget budget, Duration maxWait) {
+        this.budget = budget;
+        this.maxWait = maxWait;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+
+        if (!budget.tryAcquire(maxWait)) {
+            throw new BulkheadFullException("Too many concurrent requests, try again later");
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(budget));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit)) {
+            return;
+        }
+
+        if (streamsBody(handler) && request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(permit);
+        } else {
+            permit.release();
+        }
+    }
+
+    // also called after the async dispatch of a streamed body, once it was written
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit) {
+            permit.release();
+        }
+    }
+
+    private static boolean streamsBody(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return false;
+        }
+
+        var returnType = ResolvableType.forMethodReturnType(handlerMethod.getMethod());
+        if (ResponseEntity.class.equals(returnType.resolve())) {
+            returnType = returnType.getGeneric(0);
+        }
+        return StreamingResponseBody.class.isAssignableFrom(returnType.toClass());
+    }
+
+    // given back once, whichever of the completion callbacks comes first
+    private static class Permit implements AsyncListener {
+        private final ConnectionBudget budget;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(ConnectionBudget budget) {
+            this.budget = budget;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                budget.release();
+            }
+        }
+
+        // called after a timeout or an error as well
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.BatchResult;
+import com.siemens.internship.service.ItemBatchService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/items/batch")
+public class ItemBatchController {
+    private final ItemBatchService itemBatchService;
+
+    public ItemBatchController(ItemBatchService itemBatchService) {
+        this.itemBatchService = itemBatchService;
+    }
+
+    @PostMapping
+    public ResponseEntity<BatchResult> createItems(@RequestBody List<Item> items) {
+        var result = itemBatchService.createAll(items);
+        return new ResponseEntity<>(result, statusOf(result, HttpStatus.CREATED));
+    }
+
+    @PutMapping
+    public ResponseEntity<BatchResult> updateItems(@RequestBody List<Item> items) {
+        var result = itemBatchService.updateAll(items);
+        return new ResponseEntity<>(result, statusOf(result, HttpStatus.OK));
+    }
+
+    // the valid elements are persisted even when others fail, only a batch where nothing succeeded is a bad request
+    private HttpStatus statusOf(BatchResult result, HttpStatus successStatus) {
+        return result.items().isEmpty() && !result.errors().isEmpty() ? HttpStatus.BAD_REQUEST : successStatus;
+    }
+}
@@ -0,0 +1,63 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.config.ItemChangeFeedProperties;
+import com.siemens.internship.service.ItemChangeFeed;
+import com.siemens.internship.service.ItemChanges;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * The change feed of the items. A client starts by asking for the head without {@code since}, loads the items it
+ * needs and from then on only follows the changes, a 410 (or a {@code resync} event on the stream) means it fell too
+ * far behind and has to start over.
+ */
+@RestController
+@RequestMapping("/api/items/changes")
+public class ItemChangeController {
+    private final ItemChangeFeed changeFeed;
+    private final ItemChangeStreams changeStreams;
+    private final int maxPageSize;
+
+    public ItemChangeController(ItemChangeFeed changeFeed,
+                                ItemChangeStreams changeStreams,
+                                ItemChangeFeedProperties properties) {
+        this.changeFeed = changeFeed;
+        this.changeStreams = changeStreams;
+        this.maxPageSize = properties.maxPageSize();
+    }
+
+    /**
+     * @param since the {@code nextSince} of the previous response, without it no changes are returned, only the head
+     *              to start from
+     * @param limit most changes to return, {@code items.changes.max-page-size} at most
+     */
+    @GetMapping
+    public ResponseEntity<ItemChanges> getChanges(@RequestParam(required = false) Long since,
+                                                  @RequestParam(required = false) @Min(1) Integer limit) {
+        if (since == null) {
+            return new ResponseEntity<>(new ItemChanges(List.of(), changeFeed.head(), false), HttpStatus.OK);
+        }
+
+        var pageSize = limit == null ? maxPageSize : Math.min(limit, maxPageSize);
+        return new ResponseEntity<>(changeFeed.changesSince(since, pageSize), HttpStatus.OK);
+    }
+
+    /**
+     * @param lastEventId sent by an {@code EventSource} when it reconnects, wins over {@code since}
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeStreams.open(lastEventId != null ? lastEventId : since);
+    }
+}
@@ -0,0 +1,181 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.config.ItemChangeFeedProperties;
+import com.siemens.internship.service.BulkheadFullException;
+import com.siemens.internship.service.ChangeFeedExpiredException;
+import com.siemens.internship.service.ItemChange;
+import com.siemens.internship.service.ItemChangeFeed;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Server-Sent Events streams of the {@link ItemChangeFeed}. Every stream has its own cursor and reads the feed on
+ * its own, an appended change only wakes the streams up, so a client that reads slowly holds up nobody but itself.
+ * A stream that falls further behind than the feed retains gets a {@code resync} event and is closed.
+ * <p>
+ * Every change is sent as an event named after its type with the sequence as id, a client reconnecting with
+ * {@code Last-Event-ID} continues where it stopped.
+ */
+@Component
+public class ItemChangeStreams {
+    static final String RESYNC_EVENT = "resync";
+    private static final Logger logger = LoggerFactory.getLogger(ItemChangeStreams.class);
+    private final ItemChangeFeed changeFeed;
+    private final ItemChangeFeedProperties properties;
+    private final Set<Stream> streams = ConcurrentHashMap.newKeySet();
+    // a stream blocked on a slow client holds one of these threads, at most one per stream
+    private final ExecutorService senders = Executors.newCachedThreadPool(daemonThreads("ChangeStream-"));
+    private final ScheduledExecutorService heartbeats =
+            Executors.newSingleThreadScheduledExecutor(daemonThreads("ChangeStreamHeartbeat-"));
+
+    public ItemChangeStreams(ItemChangeFeed changeFeed, ItemChangeFeedProperties properties) {
+        this.changeFeed = changeFeed;
+        this.properties = properties;
+        changeFeed.addListener(() -> streams.forEach(this::wakeUp));
+
+        long heartbeat = properties.heartbeat().toMillis();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param since the sequence of the last change the client saw, the current head when null
+     * @throws ChangeFeedExpiredException when the changes following {@code since} are no longer retained
+     */
+    public synchronized SseEmitter open(Long since) {
+        long cursor = since == null ? changeFeed.head() : since;
+        changeFeed.checkCursor(cursor);
+
+        if (streams.size() >= properties.maxStreams()) {
+            throw new BulkheadFullException("Too many open change streams, try again later");
+        }
+
+        var stream = new Stream(new SseEmitter(properties.streamTimeout().toMillis()), cursor);
+        stream.emitter.onCompletion(() -> streams.remove(stream));
+        stream.emitter.onTimeout(stream.emitter::complete);
+        stream.emitter.onError(e -> streams.remove(stream));
+        streams.add(stream);
+
+        // sends the changes that are already there, the emitter keeps them until the response is ready
+        wakeUp(stream);
+        return stream.emitter;
+    }
+
+    public int openStreams() {
+        return streams.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        streams.forEach(stream -> stream.emitter.complete());
+    }
+
+    private void heartbeat() {
+        streams.forEach(stream -> {
+            stream.heartbeatDue = true;
+            wakeUp(stream);
+        });
+    }
+
+    // only the first wake up of a burst starts a sender, the others make it look at the feed once more
+    private void wakeUp(Stream stream) {
+        if (stream.wakeUps.getAndIncrement() == 0) {
+            senders.execute(() -> drain(stream));
+        }
+    }
+
+    private void drain(Stream stream) {
+        int wakeUps = stream.wakeUps.get();
+        do {
+            if (!send(stream)) {
+                return;
+            }
+            wakeUps = stream.wakeUps.addAndGet(-wakeUps);
+        } while (wakeUps != 0);
+    }
+
+    /**
+     * @return false once the stream is closed
+     */
+    private boolean send(Stream stream) {
+        try {
+            boolean sent = false;
+            boolean hasMore = true;
+            while (hasMore) {
+                var changes = changeFeed.changesSince(stream.cursor, properties.maxPageSize());
+                for (var change : changes.changes()) {
+                    stream.emitter.send(eventOf(change));
+                    stream.cursor = change.sequence();
+                    sent = true;
+                }
+                hasMore = changes.hasMore();
+            }
+
+            if (stream.heartbeatDue && !sent) {
+                stream.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            stream.heartbeatDue = false;
+            return true;
+        } catch (ChangeFeedExpiredException e) {
+            logger.debug("Change stream fell behind the feed at %d".formatted(stream.cursor));
+            streams.remove(stream);
+            try {
+                stream.emitter.send(SseEmitter.event()
+                        .name(RESYNC_EVENT)
+                        .data(new ErrorResponse(Set.of(e.getMessage())), MediaType.APPLICATION_JSON));
+                stream.emitter.complete();
+            } catch (IOException | IllegalStateException closed) {
+                stream.emitter.completeWithError(closed);
+            }
+            return false;
+        } catch (IOException | IllegalStateException e) {
+            // the client went away, or the stream timed out or was completed meanwhile
+            streams.remove(stream);
+            return false;
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder eventOf(ItemChange change) {
+        return SseEmitter.event()
+                .id(String.valueOf(change.sequence()))
+                .name(change.type().name())
+                .data(change, MediaType.APPLICATION_JSON);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        var counter = new AtomicInteger();
+        return runnable -> {
+            var thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class Stream {
+        final SseEmitter emitter;
+        final AtomicInteger wakeUps = new AtomicInteger();
+        // only touched by the sender of the stream, which the wake up counter keeps to one at a time
+        long cursor;
+        volatile boolean heartbeatDue;
+
+        Stream(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
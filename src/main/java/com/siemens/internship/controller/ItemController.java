@@ -1,52 +1,156 @@
 package com.siemens.internship.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.siemens.internship.model.Item;
 import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemSummary;
+import com.siemens.internship.service.CancellationToken;
+import com.siemens.internship.service.ItemCacheStats;
+import com.siemens.internship.service.ItemCreateCoalescer;
+import com.siemens.internship.service.ItemPage;
 import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ItemStats;
+import com.siemens.internship.service.ProcessingReport;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/items")
 public class ItemController {
     private final ItemService itemService;
+    // present only when items.group-commit.enabled is set
+    private final Optional<ItemCreateCoalescer> createCoalescer;
+    // values aren't flushed one by one, the generator and the response buffer decide when a chunk goes out
+    private final ObjectWriter itemWriter;
 
-    public ItemController(ItemService itemService) {
+    public ItemController(ItemService itemService,
+                          Optional<ItemCreateCoalescer> createCoalescer,
+                          ObjectMapper objectMapper) {
         this.itemService = itemService;
+        this.createCoalescer = createCoalescer;
+        this.itemWriter = objectMapper.writerFor(Item.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
+    /**
+     * The collection ETag comes from one aggregate query, so an unchanged collection is answered with 304 before
+     * any item is loaded.
+     */
     @GetMapping
-    public ResponseEntity<List<Item>> getAllItems() {
-        return new ResponseEntity<>(itemService.findAll(), HttpStatus.OK);
+    public ResponseEntity<List<ItemSummary>> getAllItems(WebRequest request) {
+        var eTag = ItemETags.of(itemService.findItemsVersion());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(itemService.findAll());
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<ItemPage> getItemPage(@RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int size) {
+        return new ResponseEntity<>(itemService.findPage(cursor, size), HttpStatus.OK);
+    }
+
+    /**
+     * Streams every item, one JSON object per line for {@code application/x-ndjson} and one JSON array otherwise.
+     * The items are written as they are read from the database cursor, nothing is collected in between.
+     */
+    @GetMapping(value = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> streamItems(@RequestHeader(value = "Accept", required = false) String accept) {
+        var ndjson = accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (var sequence = ndjson
+                    ? itemWriter.withRootValueSeparator("\n").writeValues(outputStream)
+                    : itemWriter.writeValuesAsArray(outputStream)) {
+                itemService.forEachItem(item -> write(sequence, item));
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Exports the items with an id greater than {@code after} as NDJSON, through the same database cursor as
+     * {@link #streamItems}. An export that broke off is resumed with the id of the last line received, and every line
+     * can be sent back to {@code POST /api/items/import}. Gzipped like the other responses for clients sending
+     * {@code Accept-Encoding: gzip}.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportItems(@RequestParam(defaultValue = "0") @Min(0) long after) {
+        StreamingResponseBody body = outputStream -> {
+            try (var sequence = itemWriter.withRootValueSeparator("\n").writeValues(outputStream)) {
+                itemService.forEachItem(after, item -> write(sequence, item));
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"items.ndjson\"")
+                .body(body);
     }
 
     @PostMapping
     public ResponseEntity<Item> createItem(@RequestBody @Valid Item item) {
         item.setId(null);
         item.setStatus(ItemStatus.UNPROCESSED);
-        return new ResponseEntity<>(itemService.save(item), HttpStatus.CREATED);
+        var createdItem = createCoalescer
+                .map(coalescer -> coalescer.create(item))
+                .orElseGet(() -> itemService.save(item));
+        return new ResponseEntity<>(createdItem, HttpStatus.CREATED);
     }
 
+    // a conditional request only needs the version, the item is loaded once it is known to have changed
     @GetMapping("/{id}")
-    public ResponseEntity<Item> getItemById(@PathVariable Long id) {
+    public ResponseEntity<Item> getItemById(@PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(ItemETags.of(itemService.findVersionById(id)))) {
+            return null;
+        }
+
         var existingItem = itemService.findById(id);
-        return new ResponseEntity<>(existingItem, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(ItemETags.of(existingItem)).body(existingItem);
     }
 
-    @PutMapping("/{id}")
-    public ResponseEntity<Item> updateItem(@PathVariable Long id, @RequestBody @Valid Item item) {
-        var existingItem = itemService.findById(id);
-        var status = item.getStatus() != null ? item.getStatus() : existingItem.getStatus();
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ItemCacheStats> getCacheStats() {
+        return new ResponseEntity<>(itemService.getCacheStats(), HttpStatus.OK);
+    }
 
-        item.setId(existingItem.getId());
-        item.setStatus(status);
+    @GetMapping("/stats")
+    public ResponseEntity<ItemStats> getItemStats() {
+        return new ResponseEntity<>(itemService.getStats(), HttpStatus.OK);
+    }
 
-        var updatedItem = itemService.save(item);
-        return new ResponseEntity<>(updatedItem, HttpStatus.OK);
+    @PutMapping("/{id}")
+    public ResponseEntity<Item> updateItem(@PathVariable Long id,
+                                           @RequestBody @Valid Item item,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var updatedItem = itemService.update(id, item, ItemETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ItemETags.of(updatedItem)).body(updatedItem);
     }
 
     @DeleteMapping("/{id}")
@@ -55,9 +159,59 @@ public class ItemController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    /**
+     * Processes the backlog within the deadline (ISO-8601 like {@code PT5S}, the configured one when not given), the
+     * request thread is released while the items are processed. When the deadline passes or the client goes away the
+     * items not started yet are cancelled and returned in {@code cancelledIds}.
+     */
     @GetMapping("/process")
-    public ResponseEntity<List<Item>> processItems() {
+    public DeferredResult<ResponseEntity<ProcessingReport>> processItems(@RequestParam(required = false) Duration deadline) {
         var itemIds = itemService.findAllIds();
-        return new ResponseEntity<>(itemService.processItemsAsync(itemIds), HttpStatus.OK);
+        var token = new CancellationToken();
+        // no container timeout, the deadline is what bounds the request
+        var result = new DeferredResult<ResponseEntity<ProcessingReport>>(0L);
+        result.onError(e -> token.cancel("the client went away"));
+
+        itemService.processItems(itemIds, deadline, token).whenComplete((report, e) -> {
+            if (e == null) {
+                result.setResult(new ResponseEntity<>(report, HttpStatus.OK));
+            } else {
+                result.setErrorResult(e instanceof CompletionException ? e.getCause() : e);
+            }
+        });
+        return result;
+    }
+
+    @PostMapping("/process")
+    public ResponseEntity<ProcessingJobResponse> startProcessingJob() {
+        var itemIds = itemService.findAllIds();
+        var job = itemService.startProcessingJob(itemIds);
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/items/process/%s".formatted(job.getId())))
+                .body(ProcessingJobResponse.from(job));
+    }
+
+    @GetMapping("/process/{jobId}")
+    public ResponseEntity<ProcessingJobResponse> getProcessingJob(@PathVariable UUID jobId) {
+        var job = itemService.findProcessingJob(jobId);
+        return new ResponseEntity<>(ProcessingJobResponse.from(job), HttpStatus.OK);
+    }
+
+    @GetMapping("/process/{jobId}/results")
+    public ResponseEntity<ProcessingJobResultsResponse> getProcessingJobResults(@PathVariable UUID jobId,
+                                                                                @RequestParam(defaultValue = "0") @Min(0) int page,
+                                                                                @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int size) {
+        var job = itemService.findProcessingJob(jobId);
+        var response = new ProcessingJobResultsResponse(jobId, page, size, job.getResults(page, size), job.getFailures(page, size));
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    private static void write(SequenceWriter sequence, Item item) {
+        try {
+            sequence.write(item);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -0,0 +1,50 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemsVersion;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Strong ETags of items, the quoted version of the item, and a weak ETag of the item collection. The collection is
+ * only ever compared weakly ({@code If-None-Match}) and its body differs per format and content encoding, a strong
+ * tag would also keep the container from compressing it.
+ */
+final class ItemETags {
+    private ItemETags() {
+    }
+
+    static String of(Item item) {
+        return of(item.getVersion());
+    }
+
+    static String of(Long version) {
+        return "\"%d\"".formatted(version);
+    }
+
+    static String of(ItemsVersion itemsVersion) {
+        return "W/\"%d-%d-%d\"".formatted(itemsVersion.count(), itemsVersion.versionSum(), itemsVersion.maxId());
+    }
+
+    /**
+     * The versions listed in an {@code If-Match} header, null when there is no header or it is {@code *} (the item
+     * only has to exist). If-Match uses the strong comparison, so weak or foreign tags never match and a header made
+     * only of those gives an empty set.
+     */
+    static Set<Long> parseIfMatch(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+
+        Set<Long> versions = new HashSet<>();
+        Arrays.stream(header.split(","))
+                .map(String::trim)
+                .filter(tag -> tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\""))
+                .map(tag -> tag.substring(1, tag.length() - 1))
+                .filter(version -> version.chars().allMatch(Character::isDigit))
+                .forEach(version -> versions.add(Long.parseLong(version)));
+        return versions;
+    }
+}
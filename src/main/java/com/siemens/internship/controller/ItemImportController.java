@@ -0,0 +1,44 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.model.ItemImport;
+import com.siemens.internship.service.ImportReport;
+import com.siemens.internship.service.ItemImportService;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Imports NDJSON as written by {@code GET /api/items/export}, see {@link ItemImportService}. The body may be gzipped
+ * ({@code Content-Encoding: gzip}). While an import runs, {@code GET /api/items/import/{importId}} shows how far it
+ * has committed.
+ */
+@RestController
+@RequestMapping("/api/items/import")
+public class ItemImportController {
+    private final ItemImportService itemImportService;
+
+    public ItemImportController(ItemImportService itemImportService) {
+        this.itemImportService = itemImportService;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportReport> importItems(@RequestParam(required = false) @Size(min = 1, max = 64) String importId,
+                                                    @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+                                                    InputStream body) throws IOException {
+        var input = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body, 8192) : body;
+        var report = itemImportService.importItems(importId, input);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    @GetMapping("/{importId}")
+    public ResponseEntity<ItemImport> getImport(@PathVariable String importId) {
+        return new ResponseEntity<>(itemImportService.findImport(importId), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,28 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.service.PipelineItemProcessor;
+import com.siemens.internship.service.PipelineStageStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/items/pipeline")
+@ConditionalOnProperty(value = "items.processing.pipeline.enabled", havingValue = "true")
+public class ItemPipelineController {
+    private final PipelineItemProcessor pipelineItemProcessor;
+
+    public ItemPipelineController(PipelineItemProcessor pipelineItemProcessor) {
+        this.pipelineItemProcessor = pipelineItemProcessor;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<PipelineStageStatus>> getStatus() {
+        return new ResponseEntity<>(pipelineItemProcessor.getStatus(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,90 @@
+package com.siemens.internship.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemSummary;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Hand written serializers of {@link Item} and {@link ItemSummary}, with the field names encoded once up front
+ * instead of the bean serializer walking its property writers for every item. The fields and their order are the ones
+ * the bean serializer wrote.
+ * <p>
+ * In the binary formats (CBOR, Smile) the status is written as its ordinal, JSON keeps the name. Reading accepts
+ * both, so new statuses have to be added at the end of {@link ItemStatus}.
+ */
+@JsonComponent
+public class ItemSerializers {
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString VERSION = new SerializedString("version");
+
+    public static class ItemSerializer extends StdSerializer<Item> {
+        public ItemSerializer() {
+            super(Item.class);
+        }
+
+        @Override
+        public void serialize(Item item, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            write(generator, item, item.getId(), item.getName(), item.getDescription(), item.getStatus(),
+                    item.getEmail(), item.getVersion());
+        }
+    }
+
+    public static class ItemSummarySerializer extends StdSerializer<ItemSummary> {
+        public ItemSummarySerializer() {
+            super(ItemSummary.class);
+        }
+
+        @Override
+        public void serialize(ItemSummary item, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            write(generator, item, item.id(), item.name(), item.description(), item.status(), item.email(),
+                    item.version());
+        }
+    }
+
+    private static void write(JsonGenerator generator, Object item, Long id, String name, String description,
+                              ItemStatus status, String email, Long version) throws IOException {
+        generator.writeStartObject(item, 6);
+        writeNumber(generator, ID, id);
+        writeString(generator, NAME, name);
+        writeString(generator, DESCRIPTION, description);
+
+        generator.writeFieldName(STATUS);
+        if (status == null) {
+            generator.writeNull();
+        } else if (generator.canWriteBinaryNatively()) {
+            generator.writeNumber(status.ordinal());
+        } else {
+            generator.writeString(status.name());
+        }
+
+        writeString(generator, EMAIL, email);
+        writeNumber(generator, VERSION, version);
+        generator.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator generator, SerializableString field, Long value) throws IOException {
+        generator.writeFieldName(field);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString field, String value) throws IOException {
+        generator.writeFieldName(field);
+        generator.writeString(value);
+    }
+}
@@ -0,0 +1,28 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.service.ProcessingJob;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record ProcessingJobResponse(UUID jobId,
+                                    ProcessingJob.State state,
+                                    int total,
+                                    int processed,
+                                    int failed,
+                                    int pending,
+                                    Instant createdAt,
+                                    Instant completedAt) {
+
+    public static ProcessingJobResponse from(ProcessingJob job) {
+        return new ProcessingJobResponse(
+                job.getId(),
+                job.getState(),
+                job.getTotal(),
+                job.getProcessed(),
+                job.getFailed(),
+                job.getPending(),
+                job.getCreatedAt(),
+                job.getCompletedAt());
+    }
+}
@@ -0,0 +1,10 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.ItemFailure;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ProcessingJobResultsResponse(UUID jobId, int page, int size, List<Item> items, List<ItemFailure> notProcessedItems) {
+}
@@ -0,0 +1,34 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.service.ProcessingScheduler;
+import com.siemens.internship.service.SchedulerStatus;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/items/scheduler")
+public class ProcessingSchedulerController {
+    private final ProcessingScheduler processingScheduler;
+
+    public ProcessingSchedulerController(ProcessingScheduler processingScheduler) {
+        this.processingScheduler = processingScheduler;
+    }
+
+    @GetMapping
+    public ResponseEntity<SchedulerStatus> getStatus() {
+        return new ResponseEntity<>(processingScheduler.getStatus(), HttpStatus.OK);
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<SchedulerStatus> start() {
+        processingScheduler.start();
+        return new ResponseEntity<>(processingScheduler.getStatus(), HttpStatus.OK);
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<SchedulerStatus> stop() {
+        processingScheduler.stop();
+        return new ResponseEntity<>(processingScheduler.getStatus(), HttpStatus.OK);
+    }
+}
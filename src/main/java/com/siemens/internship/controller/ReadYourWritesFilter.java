@@ -0,0 +1,71 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.config.ReplicaRouting;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Lets a client read its own writes while the replicas catch up. A request that may change items gets a cookie
+ * holding the end of the read-your-writes window, and the requests carrying a cookie that hasn't run out read from
+ * the primary. The cookie is set before the request is handled, since the response may be committed once it is, so
+ * a failed write pins the client as well, which costs nothing but a few primary reads.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    static final String COOKIE_NAME = "items-read-primary-until";
+    private final Duration window;
+    private final Clock clock;
+
+    public ReadYourWritesFilter(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            response.addCookie(pinCookie());
+        }
+
+        if (!isPinned(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        try (var pinned = ReplicaRouting.pinToPrimary()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private boolean isPinned(HttpServletRequest request) {
+        var cookie = WebUtils.getCookie(request, COOKIE_NAME);
+        if (cookie == null) {
+            return false;
+        }
+
+        try {
+            return clock.millis() < Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private Cookie pinCookie() {
+        var cookie = new Cookie(COOKIE_NAME, String.valueOf(clock.millis() + window.toMillis()));
+        cookie.setPath("/api/items");
+        cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+        cookie.setHttpOnly(true);
+        return cookie;
+    }
+}
@@ -1,18 +1,23 @@
 package com.siemens.internship.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.*;
 
+import java.time.Instant;
+
 @Entity
-@AllArgsConstructor
 @NoArgsConstructor
 @Data
 public class Item {
+    // pooled sequence instead of IDENTITY, so ids are preallocated and Hibernate can batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = 50)
     private Long id;
 
     @NotEmpty(message = "name must not be empty")
@@ -27,6 +32,26 @@ public class Item {
     @Email(regexp = "^(.+)@(.+)$", message = "invalid email format")
     private String email;
 
+    // bumped on every update, also by the bulk JPQL updates, the ETag of the item is derived from it
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // set while an instance holds the item in LEASED processing mode, an expired lease can be claimed by another one
+    @JsonIgnore
+    private String leaseOwner;
+
+    @JsonIgnore
+    private Instant leaseExpiresAt;
+
+    public Item(Long id, String name, String description, ItemStatus status, String email) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.status = status;
+        this.email = email;
+    }
+
     public Item(Long id) {
         this.id = id;
     }
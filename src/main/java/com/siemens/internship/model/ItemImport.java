@@ -0,0 +1,36 @@
+package com.siemens.internship.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Checkpoint of an NDJSON import. The lines up to {@code committedLines} are in the database, together with the
+ * counts of the items they created and the lines that failed.
+ */
+@Entity
+@NoArgsConstructor
+@Data
+public class ItemImport {
+    @Id
+    private String id;
+
+    private long committedLines;
+
+    private long imported;
+
+    private long failed;
+
+    // set once the whole body was read, sending the import again then returns its report without reading the body
+    private boolean completed;
+
+    private Instant updatedAt;
+
+    public ItemImport(String id, Instant updatedAt) {
+        this.id = id;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,5 +1,6 @@
 package com.siemens.internship.model;
 
+// the binary wire formats send the ordinal, new statuses go at the end
 public enum ItemStatus {
     PROCESSED,
     UNPROCESSED
@@ -0,0 +1,27 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.ItemImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface ItemImportRepository extends JpaRepository<ItemImport, String> {
+
+    // Only moves on from the expected line of an import that isn't completed, so of two uploads resuming the same
+    // import one updates nothing. The row stays locked until the chunk commits, the other upload waits for it instead
+    // of inserting the same lines
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ItemImport i SET i.committedLines = :toLine, i.imported = i.imported + :imported, " +
+            "i.failed = i.failed + :failed, i.completed = :completed, i.updatedAt = :now " +
+            "WHERE i.id = :id AND i.committedLines = :fromLine AND i.completed = false")
+    int advance(@Param("id") String id,
+                @Param("fromLine") long fromLine,
+                @Param("toLine") long toLine,
+                @Param("imported") long imported,
+                @Param("failed") long failed,
+                @Param("completed") boolean completed,
+                @Param("now") Instant now);
+}
@@ -1,17 +1,120 @@
 package com.siemens.internship.repository;
 
 import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+import static com.siemens.internship.repository.ItemSummary.SELECTION;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     // Doesn't make any sense without the filtering, process the same item multiple times??
-    // Taking ids of unprocessed items. Would put a partial index on item.status where status = 'UNPROCESSED'
+    // Taking ids of unprocessed items. Served by the partial index of the migrations (status, id on H2), the status
+    // is a literal so that the planner can match the index predicate
     @Query("SELECT id FROM  Item where status = 'UNPROCESSED'")
     List<Long> findAllIds();
 
+    @Query("SELECT " + SELECTION + " FROM Item i ORDER BY i.id")
+    List<ItemSummary> findAllSummaries();
+
+    @Query("SELECT id FROM Item WHERE status = 'UNPROCESSED' ORDER BY id")
+    List<Long> findUnprocessedIds(Limit limit);
+
+    @Query("SELECT id FROM Item WHERE status = 'UNPROCESSED' AND id > :afterId ORDER BY id")
+    List<Long> findUnprocessedIdsAfter(@Param("afterId") long afterId, Limit limit);
+
+    // Keyset pagination, the index on id is used to seek to the page instead of skipping an offset
+    List<Item> findByIdGreaterThanOrderByIdAsc(long afterId, Limit limit);
+
+    // Read through a forward-only cursor, the fetch size makes the Postgres driver stream instead of buffering all rows
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT i FROM Item i WHERE i.id > :afterId ORDER BY i.id")
+    Stream<Item> streamAll(@Param("afterId") long afterId);
+
+    @Query("SELECT new com.siemens.internship.repository.StatusCount(i.status, COUNT(i)) FROM Item i GROUP BY i.status")
+    List<StatusCount> countByStatus();
+
+    // Locks the row so that its status can't change before the caller's update or delete commits
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i.status FROM Item i WHERE i.id = :id")
+    Optional<ItemStatus> findStatusByIdForUpdate(@Param("id") long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT " + SELECTION + " FROM Item i WHERE i.id = :id")
+    Optional<ItemSummary> findSummaryByIdForUpdate(@Param("id") long id);
+
+    @Query("SELECT i.version FROM Item i WHERE i.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    // Changes with every insert (count, max id), update (sum of versions, they only grow) and delete (count)
+    @Query("SELECT new com.siemens.internship.repository.ItemsVersion(COUNT(i), COALESCE(SUM(i.version), 0), COALESCE(MAX(i.id), 0)) FROM Item i")
+    ItemsVersion findItemsVersion();
+
     int deleteItemById(long id);
+
+    // PUT without loading the entity, the row is locked by findSummaryByIdForUpdate beforehand
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.name = :name, i.description = :description, i.email = :email, " +
+            "i.status = :status, i.version = i.version + 1 WHERE i.id = :id")
+    int updateFields(@Param("id") long id,
+                     @Param("name") String name,
+                     @Param("description") String description,
+                     @Param("email") String email,
+                     @Param("status") ItemStatus status);
+
+    // Locks the rows so that the following status update affects exactly the returned items
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT " + SELECTION + " FROM Item i WHERE i.id IN :ids AND i.status = :status")
+    List<ItemSummary> findAllByIdAndStatusForUpdate(@Param("ids") Collection<Long> ids, @Param("status") ItemStatus status);
+
+    // Rows locked by another claim are skipped instead of waited for. Native because Hibernate's H2 dialect drops
+    // the SKIP LOCKED lock hint, while both H2 and Postgres understand it in SQL
+    @Query(value = "SELECT id FROM item WHERE id IN :ids AND status = :#{#status.name()} " +
+            "AND (lease_expires_at IS NULL OR lease_expires_at < :now) FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> findClaimableIdsForUpdate(@Param("ids") Collection<Long> ids,
+                                         @Param("status") ItemStatus status,
+                                         @Param("now") Instant now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT " + SELECTION + " FROM Item i WHERE i.id IN :ids AND i.leaseOwner = :leaseOwner")
+    List<ItemSummary> findAllByIdAndLeaseOwnerForUpdate(@Param("ids") Collection<Long> ids,
+                                                 @Param("leaseOwner") String leaseOwner);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.leaseOwner = :leaseOwner, i.leaseExpiresAt = :leaseExpiresAt, i.version = i.version + 1 " +
+            "WHERE i.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids,
+              @Param("leaseOwner") String leaseOwner,
+              @Param("leaseExpiresAt") Instant leaseExpiresAt);
+
+    // Only the current lease owner can complete, a lease that expired and was claimed again updates nothing
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.status = :newStatus, i.leaseOwner = NULL, i.leaseExpiresAt = NULL, i.version = i.version + 1 " +
+            "WHERE i.id IN :ids AND i.leaseOwner = :leaseOwner AND i.status = :currentStatus")
+    int completeLease(@Param("ids") Collection<Long> ids,
+                      @Param("leaseOwner") String leaseOwner,
+                      @Param("currentStatus") ItemStatus currentStatus,
+                      @Param("newStatus") ItemStatus newStatus);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.status = :newStatus, i.version = i.version + 1 WHERE i.id IN :ids AND i.status = :currentStatus")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("currentStatus") ItemStatus currentStatus,
+                     @Param("newStatus") ItemStatus newStatus);
 }
@@ -0,0 +1,19 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+
+/**
+ * Read-only projection of the columns an item is serialized with. Selected with a constructor expression, so the
+ * rows are neither managed nor dirty checked, and serialized the same way as {@link Item}.
+ */
+public record ItemSummary(Long id, String name, String description, ItemStatus status, String email, Long version) {
+    static final String SELECTION =
+            "new com.siemens.internship.repository.ItemSummary(i.id, i.name, i.description, i.status, i.email, i.version)";
+
+    public Item toItem() {
+        var item = new Item(id, name, description, status, email);
+        item.setVersion(version);
+        return item;
+    }
+}
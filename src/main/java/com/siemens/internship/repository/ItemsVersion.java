@@ -0,0 +1,7 @@
+package com.siemens.internship.repository;
+
+/**
+ * Aggregate over the whole item table that changes whenever an item is created, updated or deleted.
+ */
+public record ItemsVersion(long count, long versionSum, long maxId) {
+}
@@ -0,0 +1,6 @@
+package com.siemens.internship.repository;
+
+import com.siemens.internship.model.ItemStatus;
+
+public record StatusCount(ItemStatus status, long count) {
+}
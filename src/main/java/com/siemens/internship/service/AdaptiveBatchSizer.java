@@ -0,0 +1,53 @@
+package com.siemens.internship.service;
+
+import java.time.Duration;
+
+/**
+ * Additive increase, multiplicative decrease of the batch size: every batch that finished within the target latency
+ * grows the size by a fixed step, a slow batch or one the processing couldn't take halves it. The size creeps up to
+ * what the database and the executor can take and backs off quickly once they are saturated. Items that failed on
+ * their own say nothing about the load and don't count.
+ */
+public class AdaptiveBatchSizer {
+    private final int minSize;
+    private final int maxSize;
+    private final int increment;
+    private final Duration targetLatency;
+    private volatile int size;
+
+    public AdaptiveBatchSizer(int initialSize, int minSize, int maxSize, int increment, Duration targetLatency) {
+        if (minSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid batch size bounds [%d, %d]".formatted(minSize, maxSize));
+        }
+
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.increment = increment;
+        this.targetLatency = targetLatency;
+        this.size = Math.max(minSize, Math.min(maxSize, initialSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param latency  how long the batch took
+     * @param rejected whether some items of the batch weren't started before the deadline, which is how an
+     *                 overloaded database or a full executor shows up
+     */
+    public void onBatchCompleted(Duration latency, boolean rejected) {
+        if (rejected || latency.compareTo(targetLatency) > 0) {
+            onRejected();
+        } else {
+            size = Math.min(maxSize, size + increment);
+        }
+    }
+
+    /**
+     * For a batch the processing didn't take at all.
+     */
+    public void onRejected() {
+        size = Math.max(minSize, size / 2);
+    }
+}
@@ -0,0 +1,116 @@
+package com.siemens.internship.service;
+
+/**
+ * Concurrency limit tuned from the observed latency, after TCP Vegas as adapted by Netflix's concurrency-limits.
+ * The lowest latency seen is taken as the latency without load, every {@code windowSize} completed calls the
+ * average latency of the window tells how many calls are waiting instead of being worked on:
+ * {@code queue = limit * (1 - noLoadLatency / latency)}.
+ * <ul>
+ *     <li>below {@code alpha * log10(limit)} waiting calls the limit grows by {@code log10(limit)}</li>
+ *     <li>above {@code beta * log10(limit)} it shrinks by as much</li>
+ *     <li>in between it is left as it is</li>
+ * </ul>
+ * so the limit settles where a few calls queue, enough to keep the server busy. The change is smoothed and kept
+ * within {@code [minLimit, maxLimit]}. A window in which fewer than half of the permits were used says nothing about
+ * what the server can take, so it doesn't grow the limit.
+ * <p>
+ * Since a latency measured under load would be taken for the latency without load, the lowest latency is forgotten
+ * every {@code probeInterval} windows and measured again.
+ * <p>
+ * Calls over the limit are refused right away, the caller is expected to shed them rather than queue them.
+ */
+public class AdaptiveConcurrencyLimit {
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double alpha;
+    private final double beta;
+    private final int windowSize;
+    private final int probeInterval;
+    // all fields below are guarded by this
+    private double limit;
+    private int inFlight;
+    private long noLoadRtt;
+    private int windowsSinceProbe;
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing,
+                                    double alpha, double beta, int windowSize, int probeInterval) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limit bounds [%d, %d]".formatted(minLimit, maxLimit));
+        }
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.alpha = alpha;
+        this.beta = beta;
+        this.windowSize = windowSize;
+        this.probeInterval = probeInterval;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * @return whether the call may go ahead, if so it has to be followed by {@link #onSample(long)} or
+     * {@link #onIgnored()}
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= getLimit()) {
+            return false;
+        }
+
+        inFlight++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+        return true;
+    }
+
+    /**
+     * Completes a call whose latency says something about the load of the server.
+     */
+    public synchronized void onSample(long rttNanos) {
+        inFlight--;
+        windowRttSum += rttNanos;
+        if (++windowSamples >= windowSize) {
+            update();
+        }
+    }
+
+    /**
+     * Completes a call whose latency should not be looked at, a failure usually returns faster than a real answer.
+     */
+    public synchronized void onIgnored() {
+        inFlight--;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void update() {
+        long rtt = Math.max(1, windowRttSum / windowSamples);
+        if (noLoadRtt == 0 || rtt < noLoadRtt || ++windowsSinceProbe >= probeInterval) {
+            noLoadRtt = rtt;
+            windowsSinceProbe = 0;
+        }
+
+        double queue = limit * (1 - (double) noLoadRtt / rtt);
+        double step = Math.max(1, Math.log10(limit));
+        double newLimit = limit;
+        if (queue <= alpha * step && windowMaxInFlight >= limit / 2) {
+            newLimit = limit + step;
+        } else if (queue >= beta * step) {
+            newLimit = limit - step;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + newLimit * smoothing));
+
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = inFlight;
+    }
+}
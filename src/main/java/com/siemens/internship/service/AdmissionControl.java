@@ -0,0 +1,69 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemAdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One {@link AdaptiveConcurrencyLimit} per {@link EndpointClass}. The limits and the refused requests are exported as
+ * {@code items.admission.limit}, {@code items.admission.in.flight} and {@code items.admission.rejected}, tagged with
+ * the endpoint class.
+ */
+@Component
+public class AdmissionControl {
+    private final Map<EndpointClass, AdaptiveConcurrencyLimit> limits = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+
+    public AdmissionControl(ItemAdmissionProperties properties, MeterRegistry registry) {
+        var read = properties.read();
+        var write = properties.write();
+        var process = properties.process();
+        limits.put(EndpointClass.READ, createLimit(properties, read.initialLimit(), read.minLimit(), read.maxLimit()));
+        limits.put(EndpointClass.WRITE, createLimit(properties, write.initialLimit(), write.minLimit(), write.maxLimit()));
+        limits.put(EndpointClass.PROCESS, createLimit(properties, process.initialLimit(), process.minLimit(), process.maxLimit()));
+
+        limits.forEach((endpointClass, limit) -> {
+            var tag = endpointClass.name().toLowerCase();
+            Gauge.builder("items.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                    .description("Current concurrency limit of the endpoint class")
+                    .tag("endpoint", tag)
+                    .register(registry);
+            Gauge.builder("items.admission.in.flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                    .description("Admitted requests of the endpoint class not completed yet")
+                    .tag("endpoint", tag)
+                    .register(registry);
+            rejections.put(endpointClass, Counter.builder("items.admission.rejected")
+                    .description("Requests refused because the endpoint class was at its limit")
+                    .tag("endpoint", tag)
+                    .register(registry));
+        });
+    }
+
+    /**
+     * @return the limit the request was admitted by, or null when it has to be refused
+     */
+    public AdaptiveConcurrencyLimit tryAdmit(EndpointClass endpointClass) {
+        var limit = limits.get(endpointClass);
+        if (limit.tryAcquire()) {
+            return limit;
+        }
+
+        rejections.get(endpointClass).increment();
+        return null;
+    }
+
+    public AdaptiveConcurrencyLimit getLimit(EndpointClass endpointClass) {
+        return limits.get(endpointClass);
+    }
+
+    private static AdaptiveConcurrencyLimit createLimit(ItemAdmissionProperties properties,
+                                                        int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, properties.smoothing(),
+                properties.alpha(), properties.beta(), properties.windowSize(), properties.probeInterval());
+    }
+}
@@ -0,0 +1,9 @@
+package com.siemens.internship.service;
+
+import java.util.Set;
+
+/**
+ * Why the element at {@code index} of a batch request was not persisted.
+ */
+public record BatchError(int index, Set<String> details) {
+}
@@ -0,0 +1,8 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+
+import java.util.List;
+
+public record BatchResult(List<Item> items, List<BatchError> errors) {
+}
@@ -0,0 +1,7 @@
+package com.siemens.internship.service;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,80 @@
+package com.siemens.internship.service;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads lines of at most {@code maxLength} characters. Of a longer line only the first {@code maxLength} characters
+ * are kept and {@link #isTruncated()} is set, the rest is skipped up to the end of the line, so a broken line can't
+ * take the memory of the whole import. Lines end with {@code \n} or {@code \r\n}.
+ */
+class BoundedLineReader {
+    private final Reader reader;
+    private final int maxLength;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder line = new StringBuilder();
+    private int position;
+    private int limit;
+    private boolean truncated;
+
+    BoundedLineReader(Reader reader, int maxLength) {
+        this.reader = reader;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @return the next line without its terminator, null at the end of the input
+     */
+    String readLine() throws IOException {
+        line.setLength(0);
+        truncated = false;
+        boolean started = false;
+
+        while (true) {
+            if (position == limit) {
+                limit = Math.max(0, reader.read(buffer));
+                position = 0;
+                if (limit == 0) {
+                    return started ? stripCarriageReturn() : null;
+                }
+            }
+
+            started = true;
+            int start = position;
+            while (position < limit && buffer[position] != '\n') {
+                position++;
+            }
+            append(start, position);
+
+            if (position < limit) {
+                position++;
+                return stripCarriageReturn();
+            }
+        }
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    // one character more than allowed is kept so a \r\n right at the limit is not taken for a long line
+    private void append(int start, int end) {
+        int length = Math.min(end - start, maxLength + 1 - line.length());
+        if (length < end - start) {
+            truncated = true;
+        }
+        line.append(buffer, start, Math.max(0, length));
+    }
+
+    private String stripCarriageReturn() {
+        int length = line.length();
+        if (length > 0 && line.charAt(length - 1) == '\r') {
+            line.setLength(--length);
+        }
+        if (length > maxLength) {
+            truncated = true;
+            line.setLength(maxLength);
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,108 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemProcessingProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.repository.ItemSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Set based alternative to the {@link UpdateItemProcessor}. Instead of a findById and a save for every item,
+ * the ids are split into chunks and every chunk is claimed with one locking SELECT and flipped with one UPDATE,
+ * each chunk in its own transaction.
+ */
+@Component
+public class BulkItemProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(BulkItemProcessor.class);
+    private final ItemRepository itemRepository;
+    private final ItemCache itemCache;
+    private final ItemStatusCounters statusCounters;
+    private final ItemChangeFeed changeFeed;
+    private final ItemProcessingMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
+    private final ConnectionBudget connectionBudget;
+    private final int chunkSize;
+
+    public BulkItemProcessor(ItemRepository itemRepository,
+                             ItemCache itemCache,
+                             ItemStatusCounters statusCounters,
+                             ItemChangeFeed changeFeed,
+                             ItemProcessingMetrics metrics,
+                             PlatformTransactionManager transactionManager,
+                             @Qualifier("processingConnectionBudget") ConnectionBudget connectionBudget,
+                             ItemProcessingProperties properties) {
+        this.itemRepository = itemRepository;
+        this.itemCache = itemCache;
+        this.statusCounters = statusCounters;
+        this.changeFeed = changeFeed;
+        this.metrics = metrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.connectionBudget = connectionBudget;
+        this.chunkSize = properties.bulkChunkSize();
+    }
+
+    public List<Item> process(List<Long> itemIds) {
+        List<Item> processedItems = new ArrayList<>(itemIds.size());
+        process(itemIds, (chunk, processedChunk) -> processedItems.addAll(processedChunk));
+        return processedItems;
+    }
+
+    /**
+     * Processes the ids chunk by chunk and hands every committed chunk to the listener together with the items
+     * that were actually updated in it.
+     */
+    public void process(List<Long> itemIds, BiConsumer<List<Long>, List<Item>> chunkListener) {
+        for (int from = 0; from < itemIds.size(); from += chunkSize) {
+            var chunk = itemIds.subList(from, Math.min(from + chunkSize, itemIds.size()));
+            var processedChunk = claimAndUpdate(chunk);
+            metrics.recordBulkProcessed(processedChunk.size());
+            chunkListener.accept(chunk, processedChunk);
+        }
+    }
+
+    /**
+     * Flips the unprocessed items among the ids with one locking SELECT and one UPDATE in a transaction of their own,
+     * without splitting them into chunks.
+     *
+     * @return the items that were updated, the others were missing or already processed
+     */
+    public List<Item> claimAndUpdate(List<Long> itemIds) {
+        return connectionBudget.call(() -> transactionTemplate.execute(status -> processChunk(itemIds)));
+    }
+
+    private List<Item> processChunk(List<Long> chunk) {
+        logger.debug("Processing chunk of %d items".formatted(chunk.size()));
+
+        // projections, the claimed rows are never managed, so there is nothing to hydrate, snapshot or dirty check
+        var claimedItems = itemRepository.findAllByIdAndStatusForUpdate(chunk, ItemStatus.UNPROCESSED).stream()
+                .map(ItemSummary::toItem)
+                .toList();
+        if (claimedItems.isEmpty()) {
+            return List.of();
+        }
+
+        var claimedIds = claimedItems.stream().map(Item::getId).toList();
+        int affectedRows = itemRepository.updateStatus(claimedIds, ItemStatus.UNPROCESSED, ItemStatus.PROCESSED);
+        itemCache.invalidateAfterCommit(claimedIds);
+        statusCounters.recordTransition(ItemStatus.UNPROCESSED, ItemStatus.PROCESSED, affectedRows);
+        changeFeed.recordStatusChanged(claimedIds, ItemStatus.PROCESSED);
+
+        claimedItems.forEach(item -> {
+            item.setStatus(ItemStatus.PROCESSED);
+            item.setVersion(item.getVersion() + 1);
+        });
+
+        logger.debug("Finished chunk, %d of %d items updated".formatted(affectedRows, chunk.size()));
+        return claimedItems;
+    }
+}
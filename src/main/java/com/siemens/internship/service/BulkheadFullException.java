@@ -0,0 +1,7 @@
+package com.siemens.internship.service;
+
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.siemens.internship.service;
+
+public class BulkheadResizeException extends RuntimeException {
+    public BulkheadResizeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.siemens.internship.service;
+
+/**
+ * @param availableCalls permits not held right now, negative while a shrink waits for calls to finish
+ * @param threads        threads of the executor running the calls, null when the bulkhead doesn't own a thread pool
+ */
+public record BulkheadStatus(String name, int maxConcurrentCalls, int availableCalls, Integer threads) {
+}
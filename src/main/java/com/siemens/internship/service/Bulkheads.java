@@ -0,0 +1,126 @@
+package com.siemens.internship.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * The two bulkheads of the application: interactive requests and processing. Each one has its own
+ * {@link ConnectionBudget}, processing also owns the executor of the per-item tasks, while the interactive requests
+ * run on the threads of the servlet container. Both can be resized at runtime.
+ * <p>
+ * The budgets only isolate the two sides while together they fit in the connection pool, when they don't the pool is
+ * left as it is and a warning is logged, since the pool is sized for what the database can take.
+ */
+@Component
+public class Bulkheads {
+    public static final String INTERACTIVE = "interactive";
+    public static final String PROCESSING = "processing";
+    private static final Logger logger = LoggerFactory.getLogger(Bulkheads.class);
+    private final ConnectionBudget interactiveBudget;
+    private final ConnectionBudget processingBudget;
+    private final Executor processingExecutor;
+    private final DataSource dataSource;
+
+    public Bulkheads(@Qualifier("interactiveConnectionBudget") ConnectionBudget interactiveBudget,
+                     @Qualifier("processingConnectionBudget") ConnectionBudget processingBudget,
+                     @Qualifier("taskExecutor") Executor processingExecutor,
+                     DataSource dataSource) {
+        this.interactiveBudget = interactiveBudget;
+        this.processingBudget = processingBudget;
+        this.processingExecutor = processingExecutor;
+        this.dataSource = dataSource;
+        checkConnectionPool();
+    }
+
+    public List<BulkheadStatus> getStatus() {
+        return List.of(getStatus(INTERACTIVE), getStatus(PROCESSING));
+    }
+
+    public BulkheadStatus getStatus(String name) {
+        var budget = budgetOf(name);
+        return new BulkheadStatus(budget.getName(), budget.getSize(), budget.getAvailable(), threadsOf(name));
+    }
+
+    /**
+     * @param maxConcurrentCalls new size of the connection budget, unchanged when null
+     * @param threads            new size of the thread pool, unchanged when null. Only the processing bulkhead has a
+     *                           pool, and only with the platform executor
+     */
+    public synchronized BulkheadStatus resize(String name, Integer maxConcurrentCalls, Integer threads) {
+        var budget = budgetOf(name);
+
+        if (threads != null) {
+            if (!PROCESSING.equals(name) || !(processingExecutor instanceof ThreadPoolTaskExecutor pool)) {
+                throw new BulkheadResizeException("The %s bulkhead has no thread pool to resize".formatted(name));
+            }
+            resizePool(pool, threads);
+        }
+
+        if (maxConcurrentCalls != null) {
+            budget.resize(maxConcurrentCalls);
+            checkConnectionPool();
+        }
+
+        logger.info("Resized the %s bulkhead to %s".formatted(name, getStatus(name)));
+        return getStatus(name);
+    }
+
+    private ConnectionBudget budgetOf(String name) {
+        return switch (name) {
+            case INTERACTIVE -> interactiveBudget;
+            case PROCESSING -> processingBudget;
+            default -> throw new EntityNotFoundException("Bulkhead %s not found".formatted(name));
+        };
+    }
+
+    private Integer threadsOf(String name) {
+        if (PROCESSING.equals(name) && processingExecutor instanceof ThreadPoolTaskExecutor pool) {
+            return pool.getMaxPoolSize();
+        }
+        return null;
+    }
+
+    // the core size may not exceed the max size at any moment, so the order depends on the direction
+    private static void resizePool(ThreadPoolTaskExecutor pool, int threads) {
+        if (threads < 1) {
+            throw new BulkheadResizeException("The processing bulkhead needs at least one thread");
+        }
+
+        if (threads > pool.getMaxPoolSize()) {
+            pool.setMaxPoolSize(threads);
+            pool.setCorePoolSize(threads);
+        } else {
+            pool.setCorePoolSize(threads);
+            pool.setMaxPoolSize(threads);
+        }
+    }
+
+    // only Hikari says how large it is, other pools are trusted to fit. Behind the replica routing it is the primary
+    private void checkConnectionPool() {
+        int needed = interactiveBudget.getSize() + processingBudget.getSize();
+        var hikari = unwrapHikari();
+
+        if (hikari != null && hikari.getMaximumPoolSize() < needed) {
+            logger.warn(("The bulkheads need %d connections but the pool has %d, a processing sweep can still take the "
+                    + "connections of the interactive requests").formatted(needed, hikari.getMaximumPoolSize()));
+        }
+    }
+
+    private HikariDataSource unwrapHikari() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.siemens.internship.service;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cancellation of one processing request, cancelled when its deadline passes or when the client goes away. The parts
+ * of the request that can still be stopped (queued tasks, items waiting for a retry, ids not submitted yet) register
+ * a callback and deregister it once they are past that point.
+ * <p>
+ * The request {@link #complete()}s the token when it is done, which drops the timer of its deadline, otherwise every
+ * finished request would leave its timer queued until the deadline passed.
+ */
+public class CancellationToken {
+    private static final ScheduledThreadPoolExecutor TIMER = timer();
+    private final Set<Runnable> callbacks = ConcurrentHashMap.newKeySet();
+    private final Set<ScheduledFuture<?>> deadlines = ConcurrentHashMap.newKeySet();
+    private volatile String reason;
+    private volatile boolean completed;
+
+    /**
+     * Cancels the token once the deadline passes, the wait is a timer and doesn't hold a thread.
+     */
+    public CancellationToken cancelAfter(Duration deadline) {
+        var timer = TIMER.schedule(() -> cancel("deadline of %d ms passed".formatted(deadline.toMillis())),
+                deadline.toMillis(), TimeUnit.MILLISECONDS);
+        deadlines.add(timer);
+        // complete() may have run meanwhile and missed this timer
+        if (completed) {
+            dropDeadlines();
+        }
+        return this;
+    }
+
+    /**
+     * The request is done, its deadline timers are dropped and the token is no longer cancelled by them.
+     */
+    public void complete() {
+        completed = true;
+        callbacks.clear();
+        dropDeadlines();
+    }
+
+    public void cancel(String reason) {
+        synchronized (this) {
+            if (this.reason != null || completed) {
+                return;
+            }
+            this.reason = reason;
+        }
+        dropDeadlines();
+
+        for (var callback : callbacks) {
+            if (callbacks.remove(callback)) {
+                callback.run();
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return reason != null;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * Runs the callback when the token is cancelled, right away if it already is.
+     *
+     * @return deregisters the callback, a no-op once it ran
+     */
+    public Runnable onCancel(Runnable callback) {
+        synchronized (this) {
+            if (reason == null) {
+                callbacks.add(callback);
+                return () -> callbacks.remove(callback);
+            }
+        }
+
+        callback.run();
+        return () -> {
+        };
+    }
+
+    int pendingDeadlines() {
+        return deadlines.size();
+    }
+
+    private void dropDeadlines() {
+        for (var timer : deadlines) {
+            if (deadlines.remove(timer)) {
+                timer.cancel(false);
+            }
+        }
+    }
+
+    // one daemon thread for the deadlines of every token, a dropped timer leaves its queue right away
+    private static ScheduledThreadPoolExecutor timer() {
+        var timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            var thread = new Thread(runnable, "CancellationTimer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+}
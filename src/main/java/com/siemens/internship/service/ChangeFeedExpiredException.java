@@ -0,0 +1,8 @@
+package com.siemens.internship.service;
+
+public class ChangeFeedExpiredException extends RuntimeException {
+    public ChangeFeedExpiredException(long since) {
+        super("Changes since %d are no longer retained, reload the items and follow the changes from the current head"
+                .formatted(since));
+    }
+}
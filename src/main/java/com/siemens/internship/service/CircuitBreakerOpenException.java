@@ -0,0 +1,7 @@
+package com.siemens.internship.service;
+
+public class CircuitBreakerOpenException extends RuntimeException {
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
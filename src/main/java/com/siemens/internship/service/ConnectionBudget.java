@@ -0,0 +1,94 @@
+package com.siemens.internship.service;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounds how many callers of one kind talk to the database at the same time. There is one budget for the interactive
+ * requests and one for the processing tasks, together they should not exceed the connection pool, so a processing
+ * sweep can't take the connections the interactive requests need and the other way around.
+ * <p>
+ * With platform threads the pool size already bounds the processing tasks, but with a virtual thread per task the
+ * only real limit is the connection pool, so the tasks queue here instead of timing out inside Hikari.
+ * <p>
+ * The budget can be resized while it is in use, a shrink takes effect as the calls holding the removed permits finish.
+ */
+public class ConnectionBudget {
+    private final String name;
+    private final ResizableSemaphore permits;
+    // guarded by this
+    private int size;
+
+    public ConnectionBudget(String name, int size) {
+        this.name = name;
+        this.size = size;
+        this.permits = new ResizableSemaphore(size);
+    }
+
+    public <T> T call(Supplier<T> action) {
+        permits.acquireUninterruptibly();
+        try {
+            return action.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return whether a permit was acquired within {@code maxWait}, if so it has to be given back with
+     * {@link #release()}
+     */
+    public boolean tryAcquire(Duration maxWait) {
+        try {
+            return permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public synchronized void resize(int newSize) {
+        if (newSize < 1) {
+            throw new IllegalArgumentException("The %s connection budget needs at least one permit".formatted(name));
+        }
+
+        if (newSize > size) {
+            permits.release(newSize - size);
+        } else {
+            permits.reducePermits(size - newSize);
+        }
+        size = newSize;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getSize() {
+        return size;
+    }
+
+    /**
+     * @return permits not held right now, negative while a shrink waits for calls to finish
+     */
+    public int getAvailable() {
+        return permits.availablePermits();
+    }
+
+    private static class ResizableSemaphore extends Semaphore {
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
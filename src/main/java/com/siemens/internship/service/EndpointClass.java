@@ -0,0 +1,11 @@
+package com.siemens.internship.service;
+
+/**
+ * Groups of item endpoints that get their own concurrency limit, so that one of them can't use up the capacity of
+ * the others.
+ */
+public enum EndpointClass {
+    READ,
+    WRITE,
+    PROCESS
+}
@@ -0,0 +1,7 @@
+package com.siemens.internship.service;
+
+public class GroupCommitUnavailableException extends RuntimeException {
+    public GroupCommitUnavailableException(String message) {
+        super(message);
+    }
+}
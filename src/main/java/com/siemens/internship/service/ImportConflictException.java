@@ -0,0 +1,7 @@
+package com.siemens.internship.service;
+
+public class ImportConflictException extends RuntimeException {
+    public ImportConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.siemens.internship.service;
+
+import java.util.Set;
+
+/**
+ * Why the line {@code line} (counted from 1) of an import was not persisted.
+ */
+public record ImportError(long line, Set<String> details) {
+}
@@ -0,0 +1,18 @@
+package com.siemens.internship.service;
+
+import java.util.List;
+
+/**
+ * Outcome of an import. The counts cover every upload of the import, {@code errors} only the lines read by this one
+ * and at most {@code items.imports.max-errors} of them.
+ *
+ * @param resumedFrom lines skipped because an earlier upload had committed them
+ */
+public record ImportReport(String importId,
+                           long resumedFrom,
+                           long committedLines,
+                           long imported,
+                           long failed,
+                           boolean completed,
+                           List<ImportError> errors) {
+}
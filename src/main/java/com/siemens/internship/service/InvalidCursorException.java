@@ -0,0 +1,7 @@
+package com.siemens.internship.service;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: %s".formatted(cursor));
+    }
+}
@@ -0,0 +1,178 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemBatchProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates and updates many items in one transaction. Every element is validated on its own and the invalid ones are
+ * reported by their index while the valid ones are persisted. The persistence context is flushed and cleared every
+ * {@code flush-size} elements so that Hibernate sends the statements in JDBC batches and doesn't keep the whole
+ * request in memory.
+ */
+@Service
+public class ItemBatchService {
+    private final ItemRepository itemRepository;
+    private final ItemCache itemCache;
+    private final ItemStatusCounters statusCounters;
+    private final ItemChangeFeed changeFeed;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ItemBatchProperties properties;
+
+    public ItemBatchService(ItemRepository itemRepository,
+                            ItemCache itemCache,
+                            ItemStatusCounters statusCounters,
+                            ItemChangeFeed changeFeed,
+                            EntityManager entityManager,
+                            Validator validator,
+                            ItemBatchProperties properties) {
+        this.itemRepository = itemRepository;
+        this.itemCache = itemCache;
+        this.statusCounters = statusCounters;
+        this.changeFeed = changeFeed;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.properties = properties;
+    }
+
+    @Transactional
+    public BatchResult createAll(List<Item> items) {
+        checkSize(items);
+
+        List<BatchError> errors = new ArrayList<>();
+        List<Item> validItems = new ArrayList<>(items.size());
+
+        for (int index = 0; index < items.size(); index++) {
+            var item = items.get(index);
+            var violations = validate(item);
+
+            if (!violations.isEmpty()) {
+                errors.add(new BatchError(index, violations));
+                continue;
+            }
+
+            item.setId(null);
+            item.setStatus(ItemStatus.UNPROCESSED);
+            validItems.add(item);
+        }
+
+        List<Item> createdItems = new ArrayList<>(validItems.size());
+        for (int from = 0; from < validItems.size(); from += properties.flushSize()) {
+            var chunk = validItems.subList(from, Math.min(from + properties.flushSize(), validItems.size()));
+            createdItems.addAll(itemRepository.saveAll(chunk));
+            flushAndClear();
+        }
+
+        invalidateAfterCommit(createdItems);
+        createdItems.forEach(item -> {
+            statusCounters.recordCreated(item.getStatus());
+            changeFeed.recordCreated(item.getId(), item.getStatus());
+        });
+        return new BatchResult(createdItems, errors);
+    }
+
+    /**
+     * Updates name, description, email and (when given) status of existing items. The existing rows are loaded with
+     * one query per chunk and the changes are flushed as batched UPDATE statements.
+     */
+    @Transactional
+    public BatchResult updateAll(List<Item> items) {
+        checkSize(items);
+
+        List<BatchError> errors = new ArrayList<>();
+        Map<Integer, Item> validItems = new LinkedHashMap<>();
+        Set<Long> seenIds = new HashSet<>();
+
+        for (int index = 0; index < items.size(); index++) {
+            var item = items.get(index);
+            var violations = new HashSet<>(validate(item));
+
+            if (item.getId() == null) {
+                violations.add("id must not be null");
+            } else if (!seenIds.add(item.getId())) {
+                violations.add("id %d appears more than once".formatted(item.getId()));
+            }
+
+            if (!violations.isEmpty()) {
+                errors.add(new BatchError(index, violations));
+                continue;
+            }
+
+            validItems.put(index, item);
+        }
+
+        List<Item> updatedItems = new ArrayList<>(validItems.size());
+        var indexes = new ArrayList<>(validItems.keySet());
+
+        for (int from = 0; from < indexes.size(); from += properties.flushSize()) {
+            var chunk = indexes.subList(from, Math.min(from + properties.flushSize(), indexes.size()));
+            var existingItems = itemRepository.findAllById(chunk.stream().map(index -> validItems.get(index).getId()).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+            for (var index : chunk) {
+                var item = validItems.get(index);
+                var existingItem = existingItems.get(item.getId());
+
+                if (existingItem == null) {
+                    errors.add(new BatchError(index, Set.of("Item with id: %d not found".formatted(item.getId()))));
+                    continue;
+                }
+
+                var previousStatus = existingItem.getStatus();
+                existingItem.setName(item.getName());
+                existingItem.setDescription(item.getDescription());
+                existingItem.setEmail(item.getEmail());
+                existingItem.setStatus(Objects.requireNonNullElse(item.getStatus(), previousStatus));
+                statusCounters.recordTransition(previousStatus, existingItem.getStatus(), 1);
+                changeFeed.recordUpdated(existingItem.getId(), existingItem.getStatus());
+                updatedItems.add(existingItem);
+            }
+
+            flushAndClear();
+        }
+
+        errors.sort((first, second) -> Integer.compare(first.index(), second.index()));
+        invalidateAfterCommit(updatedItems);
+        return new BatchResult(updatedItems, errors);
+    }
+
+    private void checkSize(List<Item> items) {
+        if (items.size() > properties.maxSize()) {
+            throw new BatchTooLargeException("A batch can contain at most %d items, got %d"
+                    .formatted(properties.maxSize(), items.size()));
+        }
+    }
+
+    private Set<String> validate(Item item) {
+        return validator.validate(item).stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.toSet());
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void invalidateAfterCommit(List<Item> items) {
+        itemCache.invalidateAfterCommit(items.stream().map(Item::getId).toList());
+    }
+}
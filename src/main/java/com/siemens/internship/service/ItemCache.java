@@ -0,0 +1,109 @@
+package com.siemens.internship.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.siemens.internship.config.ItemCacheProperties;
+import com.siemens.internship.model.Item;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of items by id. Missing ids are cached as well (with a shorter ttl) so that polling for an id
+ * that doesn't exist doesn't hit the database every time.
+ * <p>
+ * Writers invalidate an id only after their transaction committed. A load in progress holds the lock of its key
+ * until it finished, and an invalidation of the same key waits for that lock, so a load that read the old row before
+ * the commit is always removed by the invalidation that follows the commit, and a load that starts after the
+ * invalidation already sees the committed row.
+ * <p>
+ * The cached items are shared between callers and must not be modified.
+ */
+@Component
+public class ItemCache {
+    private final Cache<Long, Optional<Item>> cache;
+
+    @Autowired
+    public ItemCache(ItemCacheProperties properties, MeterRegistry registry) {
+        this(properties, Ticker.systemTicker());
+        CaffeineCacheMetrics.monitor(registry, cache, "items");
+    }
+
+    public ItemCache(ItemCacheProperties properties, Ticker ticker) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new WriteExpiry(properties))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Item> get(long id, Function<Long, Optional<Item>> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * The cached value without loading it, null when the id is not cached.
+     */
+    public Optional<Item> getIfPresent(long id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void invalidate(long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAfterCommit(long id) {
+        invalidateAfterCommit(List.of(id));
+    }
+
+    /**
+     * Invalidates the ids once the surrounding transaction committed, or right away when there is none.
+     */
+    public void invalidateAfterCommit(Collection<Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.invalidateAll(ids);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.invalidateAll(ids);
+            }
+        });
+    }
+
+    public ItemCacheStats stats() {
+        var stats = cache.stats();
+        return new ItemCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.estimatedSize());
+    }
+
+    // found and missing ids expire a fixed time after they were loaded, reads don't extend their lifetime
+    private record WriteExpiry(ItemCacheProperties properties) implements Expiry<Long, Optional<Item>> {
+        @Override
+        public long expireAfterCreate(Long id, Optional<Item> item, long currentTime) {
+            return item.isPresent() ? properties.ttl().toNanos() : properties.negativeTtl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long id, Optional<Item> item, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, item, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long id, Optional<Item> item, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
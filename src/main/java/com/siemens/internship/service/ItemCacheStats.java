@@ -0,0 +1,4 @@
+package com.siemens.internship.service;
+
+public record ItemCacheStats(long hitCount, long missCount, long evictionCount, long size) {
+}
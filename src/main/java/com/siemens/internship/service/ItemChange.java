@@ -0,0 +1,13 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.ItemStatus;
+
+import java.time.Instant;
+
+/**
+ * @param sequence  position in the change feed, increasing in the order the changes were committed
+ * @param status    status of the item after the change, null once it was deleted
+ * @param changedAt when the change was committed
+ */
+public record ItemChange(long sequence, ItemChangeType type, long itemId, ItemStatus status, Instant changedAt) {
+}
@@ -0,0 +1,143 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemChangeFeedProperties;
+import com.siemens.internship.model.ItemStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Every create, update, delete and status change of an item, numbered with an increasing sequence, so clients can ask
+ * for what changed since the last change they saw instead of reloading every item. Like the status counters, a change
+ * is appended once the surrounding transaction committed, a rollback never shows up.
+ * <p>
+ * Only the last {@code retention} changes are kept, in a ring buffer. A cursor older than that, or one the feed never
+ * handed out, gets a {@link ChangeFeedExpiredException} and the client has to reload the items. The sequence starts
+ * at the startup time in microseconds, so the cursors of a previous run are older than anything of the current one
+ * and expire instead of pointing at unrelated changes.
+ * <p>
+ * The feed only sees the changes made by this instance.
+ */
+@Component
+public class ItemChangeFeed {
+    private final Clock clock;
+    private final ItemChange[] buffer;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private final long firstSequence;
+    // guarded by this, the sequence of the next change
+    private long nextSequence;
+
+    @Autowired
+    public ItemChangeFeed(ItemChangeFeedProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    public ItemChangeFeed(ItemChangeFeedProperties properties, Clock clock) {
+        if (properties.retention() < 1) {
+            throw new IllegalArgumentException("items.changes.retention must be at least 1, got %d"
+                    .formatted(properties.retention()));
+        }
+
+        this.clock = clock;
+        this.buffer = new ItemChange[properties.retention()];
+        this.firstSequence = clock.millis() * 1000;
+        this.nextSequence = firstSequence;
+    }
+
+    public void recordCreated(long itemId, ItemStatus status) {
+        record(ItemChangeType.CREATED, List.of(itemId), status);
+    }
+
+    public void recordUpdated(long itemId, ItemStatus status) {
+        record(ItemChangeType.UPDATED, List.of(itemId), status);
+    }
+
+    public void recordDeleted(long itemId) {
+        record(ItemChangeType.DELETED, List.of(itemId), null);
+    }
+
+    public void recordStatusChanged(Collection<Long> itemIds, ItemStatus status) {
+        record(ItemChangeType.STATUS_CHANGED, itemIds, status);
+    }
+
+    /**
+     * Called after every append, on the thread that committed the change, so it has to return quickly.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @return the sequence of the last change, a client starting from it gets every change that follows
+     */
+    public synchronized long head() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * @param since the sequence of the last change the client saw
+     * @param limit most changes to return
+     * @throws ChangeFeedExpiredException when changes following {@code since} were already dropped, or it is not a
+     *                                    sequence of this feed
+     */
+    public synchronized ItemChanges changesSince(long since, int limit) {
+        checkCursor(since);
+
+        long to = Math.min(nextSequence, since + 1 + limit);
+        List<ItemChange> changes = new ArrayList<>((int) (to - since - 1));
+        for (long sequence = since + 1; sequence < to; sequence++) {
+            changes.add(buffer[indexOf(sequence)]);
+        }
+        return new ItemChanges(changes, to - 1, to < nextSequence);
+    }
+
+    /**
+     * @throws ChangeFeedExpiredException see {@link #changesSince(long, int)}
+     */
+    public synchronized void checkCursor(long since) {
+        long oldestRetained = Math.max(firstSequence, nextSequence - buffer.length);
+        if (since < oldestRetained - 1 || since >= nextSequence) {
+            throw new ChangeFeedExpiredException(since);
+        }
+    }
+
+    private void record(ItemChangeType type, Collection<Long> itemIds, ItemStatus status) {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(type, itemIds, status);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                append(type, itemIds, status);
+            }
+        });
+    }
+
+    private void append(ItemChangeType type, Collection<Long> itemIds, ItemStatus status) {
+        var changedAt = clock.instant();
+        synchronized (this) {
+            for (var itemId : itemIds) {
+                buffer[indexOf(nextSequence)] = new ItemChange(nextSequence, type, itemId, status, changedAt);
+                nextSequence++;
+            }
+        }
+        listeners.forEach(Runnable::run);
+    }
+
+    private int indexOf(long sequence) {
+        return (int) ((sequence - firstSequence) % buffer.length);
+    }
+}
@@ -0,0 +1,9 @@
+package com.siemens.internship.service;
+
+public enum ItemChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    // the status was changed by the processing, nothing else
+    STATUS_CHANGED
+}
@@ -0,0 +1,11 @@
+package com.siemens.internship.service;
+
+import java.util.List;
+
+/**
+ * @param nextSince the cursor of the following request, the sequence of the last change returned or the given cursor
+ *                  when there were none
+ * @param hasMore   whether more changes were already there but didn't fit in this response
+ */
+public record ItemChanges(List<ItemChange> changes, long nextSince, boolean hasMore) {
+}
@@ -0,0 +1,207 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemBatchProperties;
+import com.siemens.internship.config.ItemGroupCommitProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit of single item creates. Concurrent creates are queued and a single committer thread takes them in
+ * groups of up to {@code max-batch-size}: the first create of a group waits at most {@code max-wait} for others, and
+ * the creates arriving while a group commits form the next one. Every group is inserted in one transaction by the
+ * {@link ItemBatchService}, as JDBC batches, and every caller gets back its own created item.
+ * <p>
+ * A create that fails validation fails alone, the rest of its group is committed. When the group's transaction fails
+ * as a whole its creates are committed again one by one, so that a single bad row only fails its own caller.
+ * <p>
+ * A caller waits at most {@code timeout} for its group. A create that timed out before its group was taken is left
+ * out of it, one that was already being committed may still be created.
+ */
+@Component
+@ConditionalOnProperty(value = "items.group-commit.enabled", havingValue = "true")
+public class ItemCreateCoalescer {
+    private static final Logger logger = LoggerFactory.getLogger(ItemCreateCoalescer.class);
+    private final ItemBatchService itemBatchService;
+    private final ItemGroupCommitProperties properties;
+    private final DistributionSummary groupSizes;
+    private final BlockingQueue<PendingCreate> queue = new LinkedBlockingQueue<>();
+    private final Thread committer;
+    private volatile boolean running = true;
+
+    public ItemCreateCoalescer(ItemBatchService itemBatchService,
+                               ItemGroupCommitProperties properties,
+                               ItemBatchProperties batchProperties,
+                               MeterRegistry registry) {
+        if (properties.maxBatchSize() < 1 || properties.maxBatchSize() > batchProperties.maxSize()) {
+            throw new IllegalArgumentException("items.group-commit.max-batch-size must be between 1 and %d, got %d"
+                    .formatted(batchProperties.maxSize(), properties.maxBatchSize()));
+        }
+
+        this.itemBatchService = itemBatchService;
+        this.properties = properties;
+        this.groupSizes = DistributionSummary.builder("items.group.commit.size")
+                .description("Creates committed together in one transaction")
+                .register(registry);
+        this.committer = new Thread(this::run, "GroupCommit");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+
+    /**
+     * Waits until the group of the item has committed, at most {@code timeout}.
+     *
+     * @return the created item, a copy of the given one with its id, status and version
+     * @throws GroupCommitUnavailableException when the group didn't commit in time or the group commit is shut down
+     */
+    public Item create(Item item) {
+        var result = submit(item);
+        try {
+            return result.get(properties.timeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.completeExceptionally(e);
+            throw new GroupCommitUnavailableException("The create was not committed within %d ms, try again later"
+                    .formatted(properties.timeout().toMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            throw new GroupCommitUnavailableException("Interrupted while waiting for the create to commit");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public CompletableFuture<Item> submit(Item item) {
+        var pending = new PendingCreate(item, new CompletableFuture<>());
+        if (!running) {
+            pending.fail(shutDown());
+            return pending.result();
+        }
+
+        queue.add(pending);
+        // stop() may have drained the queue between the check and the add
+        if (!running && queue.remove(pending)) {
+            pending.fail(shutDown());
+        }
+        return pending.result();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        committer.interrupt();
+        committer.join();
+
+        // whatever got in after the committer stopped
+        List<PendingCreate> left = new ArrayList<>();
+        queue.drainTo(left);
+        left.forEach(pending -> pending.fail(shutDown()));
+    }
+
+    private static GroupCommitUnavailableException shutDown() {
+        return new GroupCommitUnavailableException("The group commit is shut down");
+    }
+
+    private void run() {
+        List<PendingCreate> group = new ArrayList<>(properties.maxBatchSize());
+
+        while (running) {
+            try {
+                group.add(queue.take());
+                long deadline = System.nanoTime() + properties.maxWait().toNanos();
+
+                while (group.size() < properties.maxBatchSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    var next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+            } catch (InterruptedException e) {
+                // stop() was called, the creates taken so far are still committed
+            }
+
+            // the callers that timed out meanwhile are not created
+            group.removeIf(pending -> pending.result().isDone());
+            if (!group.isEmpty()) {
+                commitOrFail(group);
+                group.clear();
+            }
+        }
+    }
+
+    // whatever goes wrong fails the callers of the group instead of leaving them waiting, and the committer goes on
+    private void commitOrFail(List<PendingCreate> group) {
+        try {
+            commit(group);
+        } catch (Throwable e) {
+            logger.error("Group of %d creates failed".formatted(group.size()), e);
+            group.forEach(pending -> pending.fail(e));
+        }
+    }
+
+    private void commit(List<PendingCreate> group) {
+        groupSizes.record(group.size());
+
+        try {
+            complete(group, itemBatchService.createAll(group.stream().map(PendingCreate::copy).toList()));
+        } catch (RuntimeException e) {
+            logger.warn("Group of %d creates failed, committing them one by one: %s".formatted(group.size(), e.getMessage()));
+
+            for (var pending : group) {
+                try {
+                    complete(List.of(pending), itemBatchService.createAll(List.of(pending.copy())));
+                } catch (RuntimeException singleFailure) {
+                    pending.fail(singleFailure);
+                }
+            }
+        }
+    }
+
+    // the created items come back in the order of the valid ones, the invalid ones are reported by their index
+    private static void complete(List<PendingCreate> group, BatchResult result) {
+        var createdItems = result.items().iterator();
+        var errors = result.errors().iterator();
+        var nextError = errors.hasNext() ? errors.next() : null;
+
+        for (int index = 0; index < group.size(); index++) {
+            var pending = group.get(index);
+            if (nextError != null && nextError.index() == index) {
+                pending.result().completeExceptionally(new IllegalArgumentException(String.join(", ", nextError.details())));
+                nextError = errors.hasNext() ? errors.next() : null;
+            } else {
+                pending.result().complete(createdItems.next());
+            }
+        }
+    }
+
+    // a failed transaction leaves its ids on the entities, so every attempt inserts fresh copies
+    private record PendingCreate(Item item, CompletableFuture<Item> result) {
+        Item copy() {
+            return new Item(null, item.getName(), item.getDescription(), ItemStatus.UNPROCESSED, item.getEmail());
+        }
+
+        void fail(Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+}
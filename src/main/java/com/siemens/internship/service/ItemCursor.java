@@ -0,0 +1,34 @@
+package com.siemens.internship.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation token of the keyset pagination, the id of the last item of the previous page. Encoded so that clients
+ * treat it as opaque and the key can change without breaking the API.
+ */
+public record ItemCursor(long afterId) {
+    private static final String PREFIX = "id:";
+    public static final ItemCursor FIRST = new ItemCursor(Long.MIN_VALUE);
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + afterId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ItemCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return FIRST;
+        }
+
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new InvalidCursorException(token);
+            }
+            return new ItemCursor(Long.parseLong(decoded.substring(PREFIX.length())));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
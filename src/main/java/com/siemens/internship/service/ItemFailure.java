@@ -0,0 +1,7 @@
+package com.siemens.internship.service;
+
+/**
+ * An item that could not be processed and why, after its retries ran out.
+ */
+public record ItemFailure(long id, String detail) {
+}
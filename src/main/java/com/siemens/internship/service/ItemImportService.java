@@ -0,0 +1,261 @@
+package com.siemens.internship.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.siemens.internship.config.ItemImportProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemImport;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemImportRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Imports items from NDJSON, one item per line as written by the export. The body is read line by line and every
+ * {@code chunk-size} lines are created through {@link ItemBatchService#createAll} in a transaction that also advances
+ * the checkpoint of the import ({@link ItemImport}). Memory doesn't grow with the body, and an upload that broke off
+ * is resumed by sending the same body with the same import id, the committed lines are read past without being
+ * parsed. Once an upload read the whole body the import is completed, sending it again returns its report without
+ * reading the body.
+ * <p>
+ * Like the batch endpoint every line becomes a new unprocessed item, the id, status and version of the line are
+ * ignored. A line that isn't an item, fails the validation or is rejected by the database (a field longer than its
+ * column) is counted and reported by its number, the other lines are persisted.
+ * <p>
+ * An upload is paced by the client, so the import only holds a permit of the interactive {@link ConnectionBudget}
+ * while it talks to the database, not while it waits for the next lines.
+ */
+@Service
+public class ItemImportService {
+    private static final Logger logger = LoggerFactory.getLogger(ItemImportService.class);
+    private final ItemBatchService itemBatchService;
+    private final ItemImportRepository importRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ConnectionBudget connectionBudget;
+    private final ObjectReader itemReader;
+    private final ItemImportProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public ItemImportService(ItemBatchService itemBatchService,
+                             ItemImportRepository importRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Qualifier("interactiveConnectionBudget") ConnectionBudget connectionBudget,
+                             ObjectMapper objectMapper,
+                             ItemImportProperties properties) {
+        this(itemBatchService, importRepository, transactionManager, connectionBudget, objectMapper, properties,
+                Clock.systemUTC());
+    }
+
+    public ItemImportService(ItemBatchService itemBatchService,
+                             ItemImportRepository importRepository,
+                             PlatformTransactionManager transactionManager,
+                             ConnectionBudget connectionBudget,
+                             ObjectMapper objectMapper,
+                             ItemImportProperties properties,
+                             Clock clock) {
+        this.itemBatchService = itemBatchService;
+        this.importRepository = importRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.connectionBudget = connectionBudget;
+        // one item per line, anything after it on the same line fails the line
+        this.itemReader = objectMapper.readerFor(Item.class).with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * @param importId identifies the import across uploads, a new one is generated when null
+     */
+    public ImportReport importItems(String importId, InputStream body) throws IOException {
+        var id = importId != null ? importId : UUID.randomUUID().toString();
+        var started = connectionBudget.call(() -> start(id));
+        if (started.isCompleted()) {
+            logger.info("Import %s is already completed, the body is not read".formatted(id));
+            return report(started, started.getCommittedLines(), List.of());
+        }
+
+        var reader = new BoundedLineReader(new InputStreamReader(body, StandardCharsets.UTF_8), properties.maxLineLength());
+        long resumedFrom = started.getCommittedLines();
+        var chunk = new Chunk(resumedFrom);
+        List<ImportError> errors = new ArrayList<>();
+        long lineNumber = 0;
+
+        for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+            if (++lineNumber <= resumedFrom) {
+                continue;
+            }
+
+            if (reader.isTruncated()) {
+                chunk.fail(lineNumber, "line is longer than %d characters".formatted(properties.maxLineLength()));
+            } else if (!line.isBlank()) {
+                parse(lineNumber, line, chunk);
+            }
+
+            if (lineNumber - chunk.fromLine >= properties.chunkSize()) {
+                commit(id, chunk, lineNumber, false, errors);
+                chunk = new Chunk(lineNumber);
+            }
+        }
+
+        // a body shorter than the committed lines doesn't move the checkpoint back
+        commit(id, chunk, Math.max(lineNumber, chunk.fromLine), true, errors);
+
+        var checkpoint = connectionBudget.call(() -> findImport(id));
+        logger.info("Import %s committed %d lines, %d items imported and %d lines failed"
+                .formatted(id, checkpoint.getCommittedLines(), checkpoint.getImported(), checkpoint.getFailed()));
+        return report(checkpoint, resumedFrom, errors);
+    }
+
+    public ItemImport findImport(String importId) {
+        return importRepository.findById(importId)
+                .orElseThrow(() -> new EntityNotFoundException("Import %s not found".formatted(importId)));
+    }
+
+    private static ImportReport report(ItemImport checkpoint, long resumedFrom, List<ImportError> errors) {
+        return new ImportReport(checkpoint.getId(), resumedFrom, checkpoint.getCommittedLines(), checkpoint.getImported(),
+                checkpoint.getFailed(), checkpoint.isCompleted(), errors);
+    }
+
+    private ItemImport start(String importId) {
+        if (importId.isBlank() || importId.length() > 64) {
+            throw new IllegalArgumentException("importId must have between 1 and 64 characters");
+        }
+
+        return importRepository.findById(importId).orElseGet(() -> {
+            try {
+                return importRepository.saveAndFlush(new ItemImport(importId, clock.instant()));
+            } catch (DataIntegrityViolationException e) {
+                throw new ImportConflictException("Import %s was started by another upload".formatted(importId));
+            }
+        });
+    }
+
+    private void parse(long lineNumber, String line, Chunk chunk) {
+        try {
+            Item item = itemReader.readValue(line);
+            if (item == null) {
+                chunk.fail(lineNumber, "line is not an item");
+            } else {
+                chunk.items.add(item);
+                chunk.lines.add(lineNumber);
+            }
+        } catch (JsonProcessingException e) {
+            chunk.fail(lineNumber, e.getOriginalMessage());
+        }
+    }
+
+    private void commit(String importId, Chunk chunk, long toLine, boolean completed, List<ImportError> errors) {
+        try {
+            commitChunk(importId, chunk, toLine, completed);
+        } catch (ImportConflictException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // a row the database rejects (a field longer than its column) rolls back the whole chunk, the lines are
+            // tried one by one to find it and the chunk is committed again without them
+            logger.warn("Chunk of import %s after line %d failed, finding the rejected lines: %s"
+                    .formatted(importId, chunk.fromLine, e.getMessage()));
+            rejectLinesTheDatabaseRefuses(chunk);
+            commitChunk(importId, chunk, toLine, completed);
+        }
+
+        // the validation errors come after the parse errors of the chunk, the report keeps the first lines
+        chunk.errors.sort(Comparator.comparingLong(ImportError::line));
+        chunk.errors.stream().limit(Math.max(0, properties.maxErrors() - errors.size())).forEach(errors::add);
+    }
+
+    private void commitChunk(String importId, Chunk chunk, long toLine, boolean completed) {
+        var validationErrors = connectionBudget.call(() -> transactionTemplate.execute(status -> {
+            var result = chunk.items.isEmpty() ? new BatchResult(List.of(), List.of()) : itemBatchService.createAll(chunk.copies());
+            var invalidLines = result.errors().stream()
+                    .map(error -> new ImportError(chunk.lines.get(error.index()), error.details()))
+                    .toList();
+
+            if (importRepository.advance(importId, chunk.fromLine, toLine, result.items().size(),
+                    chunk.failed + invalidLines.size(), completed, clock.instant()) == 0) {
+                throw new ImportConflictException("Import %s was resumed by another upload".formatted(importId));
+            }
+            return invalidLines;
+        }));
+        // only once committed, a retry of the chunk validates its lines again
+        validationErrors.forEach(error -> chunk.fail(error.line(), error.details()));
+    }
+
+    // every line in a transaction of its own that is rolled back, nothing is created here
+    private void rejectLinesTheDatabaseRefuses(Chunk chunk) {
+        for (int index = chunk.items.size() - 1; index >= 0; index--) {
+            var item = Chunk.copy(chunk.items.get(index));
+            try {
+                connectionBudget.call(() -> transactionTemplate.execute(status -> {
+                    itemBatchService.createAll(List.of(item));
+                    status.setRollbackOnly();
+                    return null;
+                }));
+            } catch (RuntimeException rejected) {
+                chunk.fail(chunk.lines.get(index), "rejected by the database: " + rootMessage(rejected));
+                chunk.items.remove(index);
+                chunk.lines.remove(index);
+            }
+        }
+    }
+
+    private static String rootMessage(RuntimeException e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return String.valueOf(cause.getMessage()).lines().findFirst().orElse("");
+    }
+
+    private class Chunk {
+        private final long fromLine;
+        private final List<Item> items = new ArrayList<>();
+        // line number of every element of items
+        private final List<Long> lines = new ArrayList<>();
+        // at most one per line of the chunk
+        private final List<ImportError> errors = new ArrayList<>();
+        private long failed;
+
+        Chunk(long fromLine) {
+            this.fromLine = fromLine;
+        }
+
+        // a rolled back attempt leaves its ids and versions on the entities, so every attempt persists fresh copies
+        List<Item> copies() {
+            return items.stream().map(Chunk::copy).toList();
+        }
+
+        static Item copy(Item item) {
+            return new Item(null, item.getName(), item.getDescription(), ItemStatus.UNPROCESSED, item.getEmail());
+        }
+
+        void fail(long lineNumber, String detail) {
+            fail(lineNumber, Set.of(detail));
+        }
+
+        void fail(long lineNumber, Set<String> details) {
+            failed++;
+            errors.add(new ImportError(lineNumber, details));
+        }
+    }
+}
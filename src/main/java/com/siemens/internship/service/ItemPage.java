@@ -0,0 +1,11 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+
+import java.util.List;
+
+/**
+ * @param nextCursor token of the following page, null on the last page
+ */
+public record ItemPage(List<Item> items, String nextCursor) {
+}
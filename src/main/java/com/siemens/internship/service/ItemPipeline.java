@@ -0,0 +1,272 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Items go through a fixed list of {@link ItemStage}s, every stage has its own threads and a bounded queue in front
+ * of it. A thread of a stage takes the first waiting item, waits at most {@code maxBatchWait} for more (up to
+ * {@code batchSize}) and hands the batch to the stage, so an I/O stage like the final persist gets one statement per
+ * batch while a CPU stage runs one item at a time on as many threads as it needs. A full queue blocks the stage in
+ * front of it, down to {@link #submit(long)}, so a slow stage slows the ones before it instead of piling up items.
+ * <p>
+ * Every stage reports its items, batch sizes, batch latency, queue depth and busy threads as meters tagged with its
+ * name, {@link #getStatus()} sums them up per stage.
+ * <p>
+ * An item whose result was cancelled before a stage took it is dropped, one still waiting in the first queue is
+ * taken off it right away, see {@link QueuedTasks}.
+ */
+public class ItemPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(ItemPipeline.class);
+    private static final long FORWARD_WAIT_MS = 100;
+    private final List<StageRunner> runners;
+    private volatile boolean running = true;
+
+    /**
+     * @param concurrency   threads taking batches off the queue of the stage
+     * @param queueCapacity items waiting for the stage before the stage in front of it blocks
+     * @param batchSize     most items handed to the stage at once
+     * @param maxBatchWait  how long the first item of a batch waits for more, 0 only batches what is already queued
+     */
+    public record Stage(String name, ItemStage stage, int concurrency, int queueCapacity, int batchSize,
+                        Duration maxBatchWait) {
+    }
+
+    public ItemPipeline(List<Stage> stages, MeterRegistry registry) {
+        if (stages.isEmpty()) {
+            throw new IllegalArgumentException("A pipeline needs at least one stage");
+        }
+
+        List<StageRunner> runners = new ArrayList<>(stages.size());
+        for (int index = stages.size() - 1; index >= 0; index--) {
+            var next = runners.isEmpty() ? null : runners.get(0);
+            runners.add(0, new StageRunner(stages.get(index), next, registry));
+        }
+        this.runners = List.copyOf(runners);
+        this.runners.forEach(StageRunner::start);
+    }
+
+    /**
+     * Queues the item for the first stage, waiting while its queue is full. It is also called by the delayed retries
+     * of {@link RetryingItemProcessor} on the common pool, so the wait ends once the pipeline stopped.
+     *
+     * @return a future completed with the item the last stage left, or exceptionally with the failure of the stage
+     * that failed it
+     */
+    public CompletableFuture<Item> submit(long itemId) {
+        var item = new PipelineItem(itemId);
+        var first = runners.get(0);
+
+        try {
+            while (!first.queue.offer(item, FORWARD_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                if (!running) {
+                    item.getResult().completeExceptionally(shutDown());
+                    return item.getResult();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            item.getResult().completeExceptionally(e);
+            return item.getResult();
+        }
+
+        // stop() may have drained the queue before the item got in, nothing would take it anymore
+        if (!running && first.queue.remove(item)) {
+            item.getResult().completeExceptionally(shutDown());
+        } else {
+            QueuedTasks.queued(() -> first.queue.remove(item));
+        }
+        return item.getResult();
+    }
+
+    public List<PipelineStageStatus> getStatus() {
+        return runners.stream().map(StageRunner::status).toList();
+    }
+
+    /**
+     * Stops the threads of every stage, the batches they are working on are finished and the items left in the
+     * queues are failed.
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        for (var runner : runners) {
+            runner.threads.forEach(Thread::interrupt);
+        }
+        for (var runner : runners) {
+            for (var thread : runner.threads) {
+                thread.join();
+            }
+        }
+
+        for (var runner : runners) {
+            List<PipelineItem> left = new ArrayList<>();
+            runner.queue.drainTo(left);
+            left.forEach(item -> item.getResult().completeExceptionally(shutDown()));
+        }
+    }
+
+    private static IllegalStateException shutDown() {
+        return new IllegalStateException("The processing pipeline is shut down");
+    }
+
+    private class StageRunner {
+        private final Stage stage;
+        private final StageRunner next;
+        private final BlockingQueue<PipelineItem> queue;
+        private final List<Thread> threads = new ArrayList<>();
+        private final AtomicInteger busy = new AtomicInteger();
+        private final LongAdder busyNanos = new LongAdder();
+        private final Counter processed;
+        private final Counter failed;
+        private final Timer batchLatency;
+        private final DistributionSummary batchSizes;
+
+        StageRunner(Stage stage, StageRunner next, MeterRegistry registry) {
+            if (stage.concurrency() < 1 || stage.queueCapacity() < 1 || stage.batchSize() < 1) {
+                throw new IllegalArgumentException("Stage %s needs a concurrency, queue capacity and batch size of at least 1"
+                        .formatted(stage.name()));
+            }
+
+            this.stage = stage;
+            this.next = next;
+            this.queue = new ArrayBlockingQueue<>(stage.queueCapacity());
+            this.processed = stageItems(registry, "success");
+            this.failed = stageItems(registry, "failure");
+            this.batchLatency = Timer.builder("items.pipeline.stage.duration")
+                    .description("Time a stage spent on one batch")
+                    .tag("stage", stage.name())
+                    .register(registry);
+            this.batchSizes = DistributionSummary.builder("items.pipeline.stage.batch.size")
+                    .description("Items a stage got in one batch")
+                    .tag("stage", stage.name())
+                    .register(registry);
+            Gauge.builder("items.pipeline.stage.queue", queue, BlockingQueue::size)
+                    .description("Items waiting for a stage")
+                    .tag("stage", stage.name())
+                    .register(registry);
+            Gauge.builder("items.pipeline.stage.busy", busy, AtomicInteger::get)
+                    .description("Threads of a stage working on a batch")
+                    .tag("stage", stage.name())
+                    .register(registry);
+
+            for (int index = 0; index < stage.concurrency(); index++) {
+                var thread = new Thread(this::run, "Pipeline-%s-%d".formatted(stage.name(), index));
+                thread.setDaemon(true);
+                threads.add(thread);
+            }
+        }
+
+        void start() {
+            threads.forEach(Thread::start);
+        }
+
+        private void run() {
+            List<PipelineItem> batch = new ArrayList<>(stage.batchSize());
+
+            while (running) {
+                try {
+                    batch.add(queue.take());
+                    long deadline = System.nanoTime() + stage.maxBatchWait().toNanos();
+
+                    while (batch.size() < stage.batchSize()) {
+                        long remaining = deadline - System.nanoTime();
+                        var item = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                        if (item == null) {
+                            break;
+                        }
+                        batch.add(item);
+                    }
+                } catch (InterruptedException e) {
+                    // stop() was called, the items taken so far are still processed
+                }
+
+                if (!batch.isEmpty()) {
+                    process(batch);
+                    batch.clear();
+                }
+            }
+        }
+
+        private void process(List<PipelineItem> batch) {
+            batch.removeIf(item -> item.getResult().isDone());
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            busy.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                stage.stage().process(batch);
+            } catch (RuntimeException e) {
+                logger.warn("Stage %s failed a batch of %d items: %s".formatted(stage.name(), batch.size(), e.getMessage()));
+                batch.stream().filter(item -> !item.isFailed()).forEach(item -> item.fail(e));
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                busyNanos.add(elapsed);
+                batchLatency.record(elapsed, TimeUnit.NANOSECONDS);
+                batchSizes.record(batch.size());
+                busy.decrementAndGet();
+            }
+
+            for (var item : batch) {
+                if (item.isFailed()) {
+                    failed.increment();
+                    item.getResult().completeExceptionally(item.getFailure());
+                } else {
+                    processed.increment();
+                    if (next == null) {
+                        item.getResult().complete(item.getItem());
+                    } else {
+                        forward(item);
+                    }
+                }
+            }
+        }
+
+        // waits in steps while the next queue is full, so that stop() isn't held up by a stage that no longer runs
+        private void forward(PipelineItem item) {
+            try {
+                while (!next.queue.offer(item, FORWARD_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                    if (!running) {
+                        item.getResult().completeExceptionally(shutDown());
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                item.getResult().completeExceptionally(shutDown());
+            }
+        }
+
+        PipelineStageStatus status() {
+            long items = (long) processed.count() + (long) failed.count();
+            double busySeconds = busyNanos.sum() / 1e9;
+            double capacity = busySeconds > 0 ? items / busySeconds * stage.concurrency() : 0;
+            return new PipelineStageStatus(stage.name(), stage.concurrency(), busy.get(), queue.size(),
+                    stage.queueCapacity(), stage.batchSize(), (long) processed.count(), (long) failed.count(), capacity);
+        }
+
+        private Counter stageItems(MeterRegistry registry, String result) {
+            return Counter.builder("items.pipeline.stage.items")
+                    .description("Items that went through a stage")
+                    .tag("stage", stage.name())
+                    .tag("result", result)
+                    .register(registry);
+        }
+    }
+}
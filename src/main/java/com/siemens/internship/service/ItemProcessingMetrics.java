@@ -0,0 +1,122 @@
+package com.siemens.internship.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the processing pipeline:
+ * <ul>
+ *     <li>{@code items.processing.duration} per-item latency histogram, tagged with the phase (read, update, total)</li>
+ *     <li>{@code items.processing.items} processed items, tagged with the mode and the result (success, failure)</li>
+ *     <li>{@code items.processing.in.flight} per-item tasks currently holding a slot of the submission window</li>
+ *     <li>{@code items.scheduler.batch.size} and {@code items.scheduler.throughput} of the background scheduler</li>
+ *     <li>{@code items.processing.retries} per-item attempts that failed and were scheduled again</li>
+ *     <li>{@code items.processing.circuit.state} state of the circuit breaker (0 closed, 1 open, 2 half open)</li>
+ *     <li>{@code items.pipeline.stage.*} items, batches, queue depth and busy threads of every stage of the
+ *     {@link ItemPipeline}, registered by the pipeline itself</li>
+ * </ul>
+ */
+@Component
+public class ItemProcessingMetrics {
+    private final MeterRegistry registry;
+    private final Timer readTimer;
+    private final Timer updateTimer;
+    private final Timer totalTimer;
+    private final Counter succeeded;
+    private final Counter failed;
+    private final Counter bulkSucceeded;
+    private final Counter leasedSucceeded;
+    private final Counter retries;
+
+    public ItemProcessingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.readTimer = processingTimer("read");
+        this.updateTimer = processingTimer("update");
+        this.totalTimer = processingTimer("total");
+        this.succeeded = processedCounter("per-item", "success");
+        this.failed = processedCounter("per-item", "failure");
+        this.bulkSucceeded = processedCounter("bulk", "success");
+        this.leasedSucceeded = processedCounter("leased", "success");
+        this.retries = Counter.builder("items.processing.retries")
+                .description("Per-item attempts that failed and were scheduled again")
+                .register(registry);
+    }
+
+    public Timer.Sample startTimer() {
+        return Timer.start(registry);
+    }
+
+    public <T> T timeRead(Supplier<T> read) {
+        return readTimer.record(read);
+    }
+
+    public <T> T timeUpdate(Supplier<T> update) {
+        return updateTimer.record(update);
+    }
+
+    public void recordProcessed(Timer.Sample sample) {
+        sample.stop(totalTimer);
+        succeeded.increment();
+    }
+
+    public void recordFailed(Timer.Sample sample) {
+        sample.stop(totalTimer);
+        failed.increment();
+    }
+
+    public void recordBulkProcessed(int count) {
+        bulkSucceeded.increment(count);
+    }
+
+    public void recordLeasedProcessed(int count) {
+        leasedSucceeded.increment(count);
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public void registerInFlightWindow(Semaphore window, int size) {
+        Gauge.builder("items.processing.in.flight", window, w -> size - w.availablePermits())
+                .description("Per-item tasks submitted and not yet completed")
+                .register(registry);
+    }
+
+    public void registerScheduler(ProcessingScheduler scheduler) {
+        Gauge.builder("items.scheduler.batch.size", scheduler, s -> s.getStatus().batchSize())
+                .description("Batch size the background scheduler takes next")
+                .register(registry);
+        Gauge.builder("items.scheduler.throughput", scheduler, s -> s.getStatus().throughput())
+                .description("Items per second of the last batch of the background scheduler")
+                .baseUnit("items")
+                .register(registry);
+    }
+
+    public void registerCircuitBreaker(ProcessingCircuitBreaker circuitBreaker) {
+        Gauge.builder("items.processing.circuit.state", circuitBreaker, c -> c.getState().ordinal())
+                .description("State of the processing circuit breaker, 0 closed, 1 open, 2 half open")
+                .register(registry);
+    }
+
+    private Timer processingTimer(String phase) {
+        return Timer.builder("items.processing.duration")
+                .description("Latency of processing one item")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Counter processedCounter(String mode, String result) {
+        return Counter.builder("items.processing.items")
+                .description("Items that went through processing")
+                .tag("mode", mode)
+                .tag("result", result)
+                .register(registry);
+    }
+}
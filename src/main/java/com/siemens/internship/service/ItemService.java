@@ -1,85 +1,481 @@
 package com.siemens.internship.service;
 
+import com.siemens.internship.config.ItemProcessingProperties;
+import com.siemens.internship.config.ItemReplicaProperties;
+import com.siemens.internship.config.ReplicaRouting;
 import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
 import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.repository.ItemSummary;
+import com.siemens.internship.repository.ItemsVersion;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ItemService {
     private static final Logger logger = LoggerFactory.getLogger(ItemService.class);
+    private static final long SLOT_WAIT_STEP_MS = 10;
     private final ItemRepository itemRepository;
-    private final AsyncItemProcessor itemProcessor;
+    private final ItemCache itemCache;
+    private final ItemStatusCounters statusCounters;
+    private final ItemChangeFeed changeFeed;
+    private final EntityManager entityManager;
+    private final RetryingItemProcessor itemProcessor;
+    private final BulkItemProcessor bulkItemProcessor;
+    private final LeasedItemProcessor leasedItemProcessor;
+    private final ProcessingMode processingMode;
+    private final ProcessingJobRegistry jobRegistry;
+    private final Executor jobExecutor;
+    private final Semaphore inFlightWindow;
+    private final Duration defaultDeadline;
+    private final boolean replicasEnabled;
 
-    public ItemService(ItemRepository itemRepository, AsyncItemProcessor itemProcessor) {
+    public ItemService(ItemRepository itemRepository,
+                       ItemCache itemCache,
+                       ItemStatusCounters statusCounters,
+                       ItemChangeFeed changeFeed,
+                       EntityManager entityManager,
+                       RetryingItemProcessor itemProcessor,
+                       BulkItemProcessor bulkItemProcessor,
+                       LeasedItemProcessor leasedItemProcessor,
+                       ItemProcessingProperties processingProperties,
+                       ItemReplicaProperties replicaProperties,
+                       ProcessingJobRegistry jobRegistry,
+                       ItemProcessingMetrics metrics,
+                       @Qualifier("processingJobExecutor") Executor jobExecutor) {
         this.itemRepository = itemRepository;
+        this.itemCache = itemCache;
+        this.statusCounters = statusCounters;
+        this.changeFeed = changeFeed;
+        this.entityManager = entityManager;
         this.itemProcessor = itemProcessor;
+        this.bulkItemProcessor = bulkItemProcessor;
+        this.leasedItemProcessor = leasedItemProcessor;
+        this.processingMode = processingProperties.mode();
+        this.jobRegistry = jobRegistry;
+        this.jobExecutor = jobExecutor;
+        this.inFlightWindow = new Semaphore(processingProperties.maxInFlight());
+        this.defaultDeadline = processingProperties.deadline();
+        this.replicasEnabled = replicaProperties.enabled();
+        metrics.registerInFlightWindow(inFlightWindow, processingProperties.maxInFlight());
     }
 
 
-    public List<Item> findAll() {
-        return itemRepository.findAll();
+    // may be served by a replica, like findById and findAllIds, see ReplicaRouting
+    public List<ItemSummary> findAll() {
+        try (var replica = ReplicaRouting.preferReplica()) {
+            return itemRepository.findAllSummaries();
+        }
+    }
+
+    /**
+     * One page of items ordered by id, starting after the given cursor. One extra row is read to know whether
+     * another page follows.
+     */
+    public ItemPage findPage(String cursor, int size) {
+        var items = itemRepository.findByIdGreaterThanOrderByIdAsc(ItemCursor.decode(cursor).afterId(), Limit.of(size + 1));
+
+        if (items.size() <= size) {
+            return new ItemPage(items, null);
+        }
+
+        var page = items.subList(0, size);
+        return new ItemPage(page, new ItemCursor(page.get(size - 1).getId()).encode());
+    }
+
+    /**
+     * Hands every item to the consumer in id order, reading through a database cursor. Every item is detached once
+     * consumed so the persistence context, and with it the memory, doesn't grow with the table.
+     */
+    @Transactional(readOnly = true)
+    public void forEachItem(Consumer<Item> consumer) {
+        forEachItem(0, consumer);
+    }
+
+    /**
+     * Same as {@link #forEachItem(Consumer)} for the items with an id greater than {@code afterId}.
+     */
+    @Transactional(readOnly = true)
+    public void forEachItem(long afterId, Consumer<Item> consumer) {
+        try (var items = itemRepository.streamAll(afterId)) {
+            items.forEach(item -> {
+                consumer.accept(item);
+                entityManager.detach(item);
+            });
+        }
     }
 
     public Item findById(Long id) {
-        return itemRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException(String.format("Item with id: %d not found", id)));
+        try (var replica = ReplicaRouting.preferReplica()) {
+            return findCachedById(id)
+                    .orElseThrow(() -> new EntityNotFoundException(String.format("Item with id: %d not found", id)));
+        }
+    }
+
+    /**
+     * The cache only holds rows read from the primary, otherwise a row read from a lagging replica right after a
+     * write would be served to every reader, the writer pinned to the primary included, until it expires. A read that
+     * goes to a replica takes the cached row when there is one, it is at least as recent as the replica's, and
+     * doesn't cache what it read.
+     */
+    private Optional<Item> findCachedById(long id) {
+        if (!replicasEnabled || !ReplicaRouting.useReplica()) {
+            return itemCache.get(id, itemRepository::findById);
+        }
+
+        var cachedItem = itemCache.getIfPresent(id);
+        return cachedItem != null ? cachedItem : itemRepository.findById(id);
+    }
+
+    /**
+     * The current version of the item, taken from the cache when it is there and read on its own otherwise, so a
+     * conditional request can be answered without loading the item.
+     */
+    public long findVersionById(Long id) {
+        var cachedItem = itemCache.getIfPresent(id);
+        if (cachedItem != null && cachedItem.isPresent()) {
+            return cachedItem.get().getVersion();
+        }
+
+        return itemRepository.findVersionById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Item with id: %d not found".formatted(id)));
+    }
+
+    public ItemsVersion findItemsVersion() {
+        return itemRepository.findItemsVersion();
+    }
+
+    /**
+     * Sets name, description, email and (when given) status of the item. The current row is read as a locked
+     * projection, which gives the version to check against the expected ones (unless they are null, otherwise
+     * {@link PreconditionFailedException}) and the status the counters transition from, and is then written with one
+     * UPDATE without loading the entity. The response is built from the two, nothing is read back.
+     */
+    @Transactional
+    public Item update(Long id, Item changes, Set<Long> expectedVersions) {
+        var current = itemRepository.findSummaryByIdForUpdate(id)
+                .orElseThrow(() -> new EntityNotFoundException("Item with id: %d not found".formatted(id)));
+
+        if (expectedVersions != null && !expectedVersions.contains(current.version())) {
+            throw new PreconditionFailedException("Item with id: %d was modified, current version is %d"
+                    .formatted(id, current.version()));
+        }
+
+        var status = Objects.requireNonNullElse(changes.getStatus(), current.status());
+        itemRepository.updateFields(id, changes.getName(), changes.getDescription(), changes.getEmail(), status);
+        itemCache.invalidateAfterCommit(id);
+        statusCounters.recordTransition(current.status(), status, 1);
+        changeFeed.recordUpdated(id, status);
+
+        var updatedItem = new Item(id, changes.getName(), changes.getDescription(), status, changes.getEmail());
+        updatedItem.setVersion(current.version() + 1);
+        return updatedItem;
     }
 
+    @Transactional
     public Item save(Item item) {
-        return itemRepository.save(item);
+        var previousStatus = item.getId() == null
+                ? Optional.<ItemStatus>empty()
+                : itemRepository.findStatusByIdForUpdate(item.getId());
+
+        var savedItem = itemRepository.save(item);
+        itemCache.invalidateAfterCommit(savedItem.getId());
+
+        if (previousStatus.isPresent()) {
+            statusCounters.recordTransition(previousStatus.get(), savedItem.getStatus(), 1);
+            changeFeed.recordUpdated(savedItem.getId(), savedItem.getStatus());
+        } else {
+            statusCounters.recordCreated(savedItem.getStatus());
+            changeFeed.recordCreated(savedItem.getId(), savedItem.getStatus());
+        }
+        return savedItem;
     }
 
     @Transactional(rollbackFor = EntityNotFoundException.class)
     public void deleteById(Long id) {
-        int affectedRows =  itemRepository.deleteItemById(id);
+        var status = itemRepository.findStatusByIdForUpdate(id)
+                .orElseThrow(() -> new EntityNotFoundException("Item with id: %d not found".formatted(id)));
 
-        if (affectedRows == 0) {
-            throw new EntityNotFoundException("Item with id: %d not found".formatted(id));
-        }
+        itemRepository.deleteItemById(id);
+        itemCache.invalidateAfterCommit(id);
+        statusCounters.recordDeleted(status);
+        changeFeed.recordDeleted(id);
+    }
+
+    public ItemStats getStats() {
+        return statusCounters.snapshot();
+    }
+
+    public ItemCacheStats getCacheStats() {
+        return itemCache.stats();
     }
 
     public List<Long> findAllIds() {
-        return itemRepository.findAllIds();
+        try (var replica = ReplicaRouting.preferReplica()) {
+            return itemRepository.findAllIds();
+        }
     }
 
-    public List<Item> processItemsAsync(List<Long> itemIds) {
-        List<CompletableFuture<Item>> processingFutures = new ArrayList<>();
+    public List<Long> findUnprocessedIds(int limit) {
+        return itemRepository.findUnprocessedIds(Limit.of(limit));
+    }
 
-        itemIds.forEach(id -> {
-            var task = submitTask(id);
-            processingFutures.add(task);
-        });
+    public List<Long> findUnprocessedIds(long afterId, int limit) {
+        return itemRepository.findUnprocessedIdsAfter(afterId, Limit.of(limit));
+    }
 
-        CompletableFuture<Void> allFuturesDone = CompletableFuture.allOf(processingFutures.toArray(new CompletableFuture[0]));
+    public ProcessingReport processItems(List<Long> itemIds) {
+        return withDefaultDeadline(token -> processItems(itemIds, token));
+    }
 
-        return allFuturesDone
-                .thenApply(collectResults(processingFutures))
-                .join();
+    /**
+     * Processes the items on the job executor within the deadline (the configured one when null), the token can also
+     * be cancelled by the caller, for example when the client went away.
+     */
+    public CompletableFuture<ProcessingReport> processItems(List<Long> itemIds, Duration deadline, CancellationToken token) {
+        token.cancelAfter(Objects.requireNonNullElse(deadline, defaultDeadline));
+        return CompletableFuture.supplyAsync(() -> processItems(itemIds, token), jobExecutor)
+                .whenComplete((report, e) -> token.complete());
     }
 
-    private CompletableFuture<Item> submitTask(long id) {
-        logger.debug("Submitting item with id: %d for process".formatted(id));
-        return this.itemProcessor.process(id)
-                .exceptionally(e -> {
-                    logger.warn(e.getMessage());
-                    return null;
-                });
+    /**
+     * In per-item mode a cancelled request returns right away with the items not started yet as cancelled. The bulk
+     * and leased modes run one statement per chunk and are not interrupted.
+     */
+    public ProcessingReport processItems(List<Long> itemIds, CancellationToken token) {
+        return switch (processingMode) {
+            case PER_ITEM -> processItemsAsync(itemIds, token);
+            case BULK -> report(itemIds, processItemsInBulk(itemIds), ProcessingMode.BULK);
+            case LEASED -> report(itemIds, leasedItemProcessor.process(itemIds), ProcessingMode.LEASED);
+        };
+    }
+
+    /**
+     * Registers a job for the given ids and returns it right away, the items are submitted from the job executor
+     * and the job is updated as they complete.
+     */
+    public ProcessingJob startProcessingJob(List<Long> itemIds) {
+        var job = jobRegistry.register(itemIds.size());
+        jobExecutor.execute(() -> runProcessingJob(job, itemIds));
+        return job;
+    }
+
+    public ProcessingJob findProcessingJob(UUID jobId) {
+        return jobRegistry.find(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Processing job with id: %s not found".formatted(jobId)));
     }
 
-    private Function<Void, List<Item>> collectResults(List<CompletableFuture<Item>> futures) {
-        return v -> futures.stream()
-                .map(CompletableFuture::join)
-                .filter(Objects::nonNull)
+    private void runProcessingJob(ProcessingJob job, List<Long> itemIds) {
+        logger.debug("Starting processing job %s for %d items".formatted(job.getId(), itemIds.size()));
+
+        switch (processingMode) {
+            case PER_ITEM -> submitJobTasks(job, itemIds);
+            case BULK -> bulkItemProcessor.process(itemIds, recordChunk(job));
+            case LEASED -> leasedItemProcessor.process(itemIds, recordChunk(job));
+        }
+    }
+
+    private BiConsumer<List<Long>, List<Item>> recordChunk(ProcessingJob job) {
+        return (chunk, processedChunk) -> {
+            var report = report(chunk, processedChunk, processingMode);
+            report.processedItems().forEach(job::recordProcessed);
+            report.notProcessedItems().forEach(job::recordFailed);
+        };
+    }
+
+    private void submitJobTasks(ProcessingJob job, List<Long> itemIds) {
+        try {
+            submitWithinWindow(itemIds, new CancellationToken(), (id, item, failure) -> {
+                if (item != null) {
+                    job.recordProcessed(item);
+                } else {
+                    job.recordFailed(Objects.requireNonNullElse(failure, new ItemFailure(id, "Cancelled")));
+                }
+            });
+        } catch (WindowSubmissionException e) {
+            logger.warn("Processing job %s stopped after %d submitted items: %s".formatted(job.getId(), e.submitted, e.getMessage()));
+            itemIds.subList(e.submitted, itemIds.size())
+                    .forEach(id -> job.recordFailed(new ItemFailure(id, "Not submitted: " + e.getMessage())));
+        }
+    }
+
+    /**
+     * The ids a chunked processor didn't return were either missing, already processed, or (in leased mode) held by
+     * another instance, the statements don't tell which.
+     */
+    private static ProcessingReport report(List<Long> itemIds, List<Item> processedItems, ProcessingMode mode) {
+        var processedIds = processedItems.stream().map(Item::getId).collect(Collectors.toSet());
+        var detail = mode == ProcessingMode.LEASED
+                ? "Item with id: %d not found, already processed or leased by another instance"
+                : "Item with id: %d not found or already processed";
+
+        var notProcessedItems = itemIds.stream()
+                .filter(id -> !processedIds.contains(id))
+                .map(id -> new ItemFailure(id, detail.formatted(id)))
                 .toList();
+        return new ProcessingReport(processedItems, notProcessedItems, List.of());
+    }
+
+    public List<Item> processItemsInBulk(List<Long> itemIds) {
+        return bulkItemProcessor.process(itemIds);
+    }
+
+    public ProcessingReport processItemsAsync(List<Long> itemIds) {
+        return withDefaultDeadline(token -> processItemsAsync(itemIds, token));
+    }
+
+    // the token is completed once the processing returned, so that its deadline timer doesn't outlive the request
+    private ProcessingReport withDefaultDeadline(Function<CancellationToken, ProcessingReport> processing) {
+        var token = new CancellationToken().cancelAfter(defaultDeadline);
+        try {
+            return processing.apply(token);
+        } finally {
+            token.complete();
+        }
+    }
+
+    public ProcessingReport processItemsAsync(List<Long> itemIds, CancellationToken token) {
+        List<Item> processedItems = Collections.synchronizedList(new ArrayList<>());
+        List<ItemFailure> notProcessedItems = Collections.synchronizedList(new ArrayList<>());
+        List<Long> cancelledIds = Collections.synchronizedList(new ArrayList<>());
+
+        submitWithinWindow(itemIds, token, (id, item, failure) -> {
+            if (item != null) {
+                processedItems.add(item);
+            } else if (failure != null) {
+                notProcessedItems.add(failure);
+            } else {
+                cancelledIds.add(id);
+            }
+        }).join();
+
+        if (!cancelledIds.isEmpty()) {
+            logger.warn("Cancelled %d of %d items: %s".formatted(cancelledIds.size(), itemIds.size(), token.getReason()));
+        }
+        return new ProcessingReport(processedItems, notProcessedItems, cancelledIds);
+    }
+
+    /**
+     * Submits the ids while keeping at most {@code max-in-flight} tasks on the executor across all callers. The
+     * calling thread waits for a free slot instead of overflowing the executor queue, and the results are handed to
+     * the consumer as they complete instead of being kept as futures. An item keeps its slot while it waits for a
+     * retry.
+     * <p>
+     * Once the token is cancelled no further id is submitted and the ids left are handed to the consumer as
+     * cancelled, as are the submitted ones whose task hadn't started yet.
+     *
+     * @return a future completed once every id was handed to the consumer
+     */
+    private CompletableFuture<Void> submitWithinWindow(List<Long> itemIds, CancellationToken token, ResultConsumer resultConsumer) {
+        var allCompleted = new CompletableFuture<Void>();
+        // one extra count for the submission loop, so the future can't complete before every id was submitted
+        var remaining = new AtomicInteger(itemIds.size() + 1);
+        Runnable countDown = () -> {
+            if (remaining.decrementAndGet() == 0) {
+                allCompleted.complete(null);
+            }
+        };
+
+        int submitted = 0;
+        for (var id : itemIds) {
+            if (!acquireSlot(token)) {
+                break;
+            }
+
+            CompletableFuture<Item> task;
+            try {
+                task = submitTask(id, token);
+            } catch (RuntimeException e) {
+                inFlightWindow.release();
+                throw new WindowSubmissionException(submitted, e);
+            }
+
+            task.whenComplete((item, e) -> {
+                inFlightWindow.release();
+                if (e == null) {
+                    resultConsumer.accept(id, item, null);
+                } else if (e instanceof CancellationException) {
+                    resultConsumer.accept(id, null, null);
+                } else {
+                    logger.warn(e.getMessage());
+                    resultConsumer.accept(id, null, new ItemFailure(id, detailOf(e)));
+                }
+                countDown.run();
+            });
+            submitted++;
+        }
+
+        for (var id : itemIds.subList(submitted, itemIds.size())) {
+            resultConsumer.accept(id, null, null);
+            countDown.run();
+        }
+
+        countDown.run();
+        return allCompleted;
+    }
+
+    // waits in short steps, so that a request cancelled while the window is full stops without getting a slot first
+    private boolean acquireSlot(CancellationToken token) {
+        try {
+            while (!token.isCancelled()) {
+                if (inFlightWindow.tryAcquire(SLOT_WAIT_STEP_MS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            token.cancel("interrupted");
+            return false;
+        }
+    }
+
+    private CompletableFuture<Item> submitTask(long id, CancellationToken token) {
+        logger.debug("Submitting item with id: %d for process".formatted(id));
+        return this.itemProcessor.process(id, token);
+    }
+
+    private static String detailOf(Throwable e) {
+        return Objects.requireNonNullElse(e.getMessage(), e.getClass().getSimpleName());
+    }
+
+    @FunctionalInterface
+    private interface ResultConsumer {
+        // item when processed, failure when it failed, neither when it was cancelled
+        void accept(long id, Item item, ItemFailure failure);
+    }
+
+    private static class WindowSubmissionException extends RuntimeException {
+        private final int submitted;
+
+        WindowSubmissionException(int submitted, RuntimeException cause) {
+            super(cause.getMessage(), cause);
+            this.submitted = submitted;
+        }
     }
-}
\ No newline at end of file
+}
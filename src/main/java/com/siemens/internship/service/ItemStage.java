@@ -0,0 +1,17 @@
+package com.siemens.internship.service;
+
+import java.util.List;
+
+/**
+ * One step of the {@link ItemPipeline}, for example loading, enriching or persisting the items. A stage gets the
+ * items in batches of up to its {@code batch-size} and works on them in place: it sets the item of a
+ * {@link PipelineItem} or fails it, the items not failed go on to the next stage. An exception thrown by the stage
+ * fails every item of the batch that wasn't failed already.
+ * <p>
+ * The stages of {@code items.processing.pipeline.stages} are looked up by bean name, a new step is added by
+ * registering a bean and listing its name there.
+ */
+@FunctionalInterface
+public interface ItemStage {
+    void process(List<PipelineItem> batch);
+}
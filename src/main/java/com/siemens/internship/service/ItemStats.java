@@ -0,0 +1,9 @@
+package com.siemens.internship.service;
+
+import java.time.Instant;
+
+/**
+ * @param reconciledAt when the counters were last checked against the database, null before the first check
+ */
+public record ItemStats(long unprocessed, long processed, long total, Instant reconciledAt) {
+}
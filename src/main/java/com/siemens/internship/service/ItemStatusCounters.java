@@ -0,0 +1,210 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Item counts per status kept in memory, so the stats don't need a COUNT over the table. Every path that creates,
+ * deletes or changes the status of items records the change, applied once the surrounding transaction committed so a
+ * rollback never shows up in the counts.
+ * <p>
+ * The counts are periodically corrected by a GROUP BY over the table, which catches changes made behind the
+ * application's back (other instances, manual SQL). The GROUP BY runs in a repeatable read transaction whose snapshot
+ * is opened while no recorded change is committing, a transaction holds the read side of {@code commits} from before
+ * its commit until its changes are applied. The counts taken at that moment are exactly the ones the snapshot has to
+ * show, so their difference to the GROUP BY is the drift, added to the counts whatever was recorded meanwhile. A round
+ * is only skipped when the commits don't let it in within {@code SNAPSHOT_WAIT}, the consecutive skips are exported as
+ * {@code items.stats.reconcile.skipped}.
+ */
+@Component
+public class ItemStatusCounters {
+    private static final Logger logger = LoggerFactory.getLogger(ItemStatusCounters.class);
+    private static final Duration SNAPSHOT_WAIT = Duration.ofSeconds(1);
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final Clock clock;
+    private final Map<ItemStatus, AtomicLong> counts = new EnumMap<>(ItemStatus.class);
+    private final ReadWriteLock commits = new ReentrantReadWriteLock();
+    private final AtomicInteger skippedRounds = new AtomicInteger();
+    private volatile Instant reconciledAt;
+
+    @Autowired
+    public ItemStatusCounters(ItemRepository itemRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry registry) {
+        this(itemRepository, transactionManager, registry, Clock.systemUTC());
+    }
+
+    public ItemStatusCounters(ItemRepository itemRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry registry,
+                              Clock clock) {
+        this.itemRepository = itemRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.clock = clock;
+        for (var status : ItemStatus.values()) {
+            counts.put(status, new AtomicLong());
+        }
+        Gauge.builder("items.stats.reconcile.skipped", skippedRounds, AtomicInteger::get)
+                .description("Reconcile rounds skipped in a row, because the commits didn't let them open a snapshot")
+                .register(registry);
+    }
+
+    public void recordCreated(ItemStatus status) {
+        recordChange(null, status, 1);
+    }
+
+    public void recordDeleted(ItemStatus status) {
+        recordChange(status, null, 1);
+    }
+
+    public void recordTransition(ItemStatus from, ItemStatus to, int count) {
+        if (from != to) {
+            recordChange(from, to, count);
+        }
+    }
+
+    public ItemStats snapshot() {
+        long unprocessed = counts.get(ItemStatus.UNPROCESSED).get();
+        long processed = counts.get(ItemStatus.PROCESSED).get();
+        return new ItemStats(unprocessed, processed, unprocessed + processed, reconciledAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${items.stats.reconcile-interval:PT1M}", initialDelayString = "${items.stats.reconcile-interval:PT1M}")
+    public void reconcile() {
+        tryReconcile();
+    }
+
+    /**
+     * Corrects the counts by the drift to the ones in the database.
+     *
+     * @return false when no snapshot could be opened and the counts were left as they were
+     */
+    boolean tryReconcile() {
+        Map<ItemStatus, Long> actualCounts = new EnumMap<>(ItemStatus.class);
+        var expectedCounts = snapshotTransaction.execute(status -> {
+            var counted = openSnapshot();
+            if (counted == null) {
+                return null;
+            }
+
+            itemRepository.countByStatus().stream()
+                    .filter(statusCount -> statusCount.status() != null)
+                    .forEach(statusCount -> actualCounts.put(statusCount.status(), statusCount.count()));
+            return counted;
+        });
+
+        if (expectedCounts == null) {
+            logger.warn("Skipped reconciling the status counters %d times in a row, items kept committing"
+                    .formatted(skippedRounds.incrementAndGet()));
+            return false;
+        }
+
+        expectedCounts.forEach((status, expected) -> {
+            long drift = actualCounts.getOrDefault(status, 0L) - expected;
+            if (drift != 0) {
+                long reconciled = counts.get(status).addAndGet(drift);
+                logger.info("Reconciled %s count by %d to %d".formatted(status, drift, reconciled));
+            }
+        });
+        skippedRounds.set(0);
+        reconciledAt = clock.instant();
+        return true;
+    }
+
+    // the first read of a repeatable read transaction fixes its snapshot, nothing recorded is committing meanwhile
+    private Map<ItemStatus, Long> openSnapshot() {
+        var writeLock = commits.writeLock();
+        try {
+            if (!writeLock.tryLock(SNAPSHOT_WAIT.toMillis(), TimeUnit.MILLISECONDS)) {
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+
+        try {
+            itemRepository.existsById(0L);
+            Map<ItemStatus, Long> counted = new EnumMap<>(ItemStatus.class);
+            counts.forEach((status, count) -> counted.put(status, count.get()));
+            return counted;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void recordChange(ItemStatus from, ItemStatus to, int count) {
+        if (count == 0) {
+            return;
+        }
+
+        // outside of a transaction the change has already committed, a reconcile running meanwhile may count it twice
+        // until its next round, so the recording paths record inside their transaction
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(from, to, count);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean committing;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commits.readLock().lock();
+                committing = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!committing) {
+                    return;
+                }
+
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(from, to, count);
+                    }
+                } finally {
+                    commits.readLock().unlock();
+                }
+            }
+        });
+    }
+
+    private void apply(ItemStatus from, ItemStatus to, int count) {
+        if (from != null) {
+            counts.get(from).addAndGet(-count);
+        }
+        if (to != null) {
+            counts.get(to).addAndGet(count);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemProcessingProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.repository.ItemSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Chunked processing that is safe to run from several instances against the same database. Every chunk goes through
+ * two short transactions:
+ * <ol>
+ *     <li>claim: the unprocessed, unleased rows of the chunk are selected with {@code FOR UPDATE SKIP LOCKED}, so
+ *     rows another instance is claiming at the same moment are skipped instead of waited for, and are stamped with a
+ *     lease owner unique to this claim and an expiry</li>
+ *     <li>complete: the rows still leased by that owner are flipped to processed and the lease is cleared</li>
+ * </ol>
+ * No lock or connection is held between the two, and a lease left behind by a dead instance is claimable again once
+ * it has expired. Since completing is conditional on the lease owner, an instance whose lease expired and was claimed
+ * by another one completes nothing, so every item goes from unprocessed to processed exactly once.
+ */
+@Component
+public class LeasedItemProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(LeasedItemProcessor.class);
+    private final ItemRepository itemRepository;
+    private final ItemCache itemCache;
+    private final ItemStatusCounters statusCounters;
+    private final ItemChangeFeed changeFeed;
+    private final ItemProcessingMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
+    private final ConnectionBudget connectionBudget;
+    private final int chunkSize;
+    private final Duration leaseTtl;
+    private final Clock clock;
+
+    @Autowired
+    public LeasedItemProcessor(ItemRepository itemRepository,
+                               ItemCache itemCache,
+                               ItemStatusCounters statusCounters,
+                               ItemChangeFeed changeFeed,
+                               ItemProcessingMetrics metrics,
+                               PlatformTransactionManager transactionManager,
+                               @Qualifier("processingConnectionBudget") ConnectionBudget connectionBudget,
+                               ItemProcessingProperties properties) {
+        this(itemRepository, itemCache, statusCounters, changeFeed, metrics, transactionManager, connectionBudget,
+                properties, Clock.systemUTC());
+    }
+
+    public LeasedItemProcessor(ItemRepository itemRepository,
+                               ItemCache itemCache,
+                               ItemStatusCounters statusCounters,
+                               ItemChangeFeed changeFeed,
+                               ItemProcessingMetrics metrics,
+                               PlatformTransactionManager transactionManager,
+                               ConnectionBudget connectionBudget,
+                               ItemProcessingProperties properties,
+                               Clock clock) {
+        this.itemRepository = itemRepository;
+        this.itemCache = itemCache;
+        this.statusCounters = statusCounters;
+        this.changeFeed = changeFeed;
+        this.metrics = metrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.connectionBudget = connectionBudget;
+        this.chunkSize = properties.bulkChunkSize();
+        this.leaseTtl = properties.lease().ttl();
+        this.clock = clock;
+    }
+
+    public List<Item> process(List<Long> itemIds) {
+        List<Item> processedItems = new ArrayList<>(itemIds.size());
+        process(itemIds, (chunk, processedChunk) -> processedItems.addAll(processedChunk));
+        return processedItems;
+    }
+
+    /**
+     * Processes the ids chunk by chunk and hands every completed chunk to the listener together with the items
+     * this instance actually processed in it.
+     */
+    public void process(List<Long> itemIds, BiConsumer<List<Long>, List<Item>> chunkListener) {
+        for (int from = 0; from < itemIds.size(); from += chunkSize) {
+            var chunk = itemIds.subList(from, Math.min(from + chunkSize, itemIds.size()));
+            var lease = claim(chunk);
+            var processedChunk = lease.ids().isEmpty() ? List.<Item>of() : complete(lease);
+            metrics.recordLeasedProcessed(processedChunk.size());
+            chunkListener.accept(chunk, processedChunk);
+        }
+    }
+
+    Lease claim(List<Long> chunk) {
+        var owner = UUID.randomUUID().toString();
+
+        // only the ids are claimed, the rows are read once when the lease is completed
+        var claimedIds = connectionBudget.call(() -> transactionTemplate.execute(status -> {
+            var claimableIds = itemRepository.findClaimableIdsForUpdate(chunk, ItemStatus.UNPROCESSED, clock.instant());
+            if (!claimableIds.isEmpty()) {
+                itemRepository.lease(claimableIds, owner, clock.instant().plus(leaseTtl));
+            }
+            return claimableIds;
+        }));
+
+        logger.debug("Lease %s claimed %d of %d items".formatted(owner, claimedIds.size(), chunk.size()));
+        return new Lease(owner, claimedIds);
+    }
+
+    List<Item> complete(Lease lease) {
+        return connectionBudget.call(() -> transactionTemplate.execute(status -> {
+            var ownedItems = itemRepository.findAllByIdAndLeaseOwnerForUpdate(lease.ids(), lease.owner()).stream()
+                    .map(ItemSummary::toItem)
+                    .toList();
+            if (ownedItems.isEmpty()) {
+                logger.warn("Lease %s expired and was claimed again before it completed".formatted(lease.owner()));
+                return List.of();
+            }
+
+            var ownedIds = ownedItems.stream().map(Item::getId).toList();
+            int affectedRows = itemRepository.completeLease(ownedIds, lease.owner(), ItemStatus.UNPROCESSED, ItemStatus.PROCESSED);
+            itemCache.invalidateAfterCommit(ownedIds);
+            statusCounters.recordTransition(ItemStatus.UNPROCESSED, ItemStatus.PROCESSED, affectedRows);
+            changeFeed.recordStatusChanged(ownedIds, ItemStatus.PROCESSED);
+
+            ownedItems.forEach(item -> {
+                item.setStatus(ItemStatus.PROCESSED);
+                item.setVersion(item.getVersion() + 1);
+            });
+            return ownedItems;
+        }));
+    }
+
+    record Lease(String owner, List<Long> ids) {
+    }
+}
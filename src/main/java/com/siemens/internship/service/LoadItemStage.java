@@ -0,0 +1,47 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * First stage of the default pipeline, loads the items of a batch with one query. An item that doesn't exist fails
+ * with {@link EntityNotFoundException}, which is not retried.
+ */
+@Component("load")
+public class LoadItemStage implements ItemStage {
+    private final ItemRepository itemRepository;
+    private final ConnectionBudget connectionBudget;
+    private final ItemProcessingMetrics metrics;
+
+    public LoadItemStage(ItemRepository itemRepository,
+                         @Qualifier("processingConnectionBudget") ConnectionBudget connectionBudget,
+                         ItemProcessingMetrics metrics) {
+        this.itemRepository = itemRepository;
+        this.connectionBudget = connectionBudget;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void process(List<PipelineItem> batch) {
+        var ids = batch.stream().map(PipelineItem::getId).toList();
+        Map<Long, Item> items = connectionBudget.call(() -> metrics.timeRead(() -> itemRepository.findAllById(ids))).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        for (var pipelineItem : batch) {
+            var item = items.get(pipelineItem.getId());
+            if (item == null) {
+                pipelineItem.fail(new EntityNotFoundException("Item with id: %d not found".formatted(pipelineItem.getId())));
+            } else {
+                pipelineItem.setItem(item);
+            }
+        }
+    }
+}
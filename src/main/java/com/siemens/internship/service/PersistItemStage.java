@@ -0,0 +1,42 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Last stage of the default pipeline, flips the items of a batch to processed with the claim and UPDATE of the
+ * {@link BulkItemProcessor}, one transaction per batch. An item that was already processed when it was loaded is
+ * passed on as it is, like the per-item processor does, one that was deleted or processed by someone else since
+ * fails.
+ */
+@Component("persist")
+public class PersistItemStage implements ItemStage {
+    private final BulkItemProcessor bulkItemProcessor;
+
+    public PersistItemStage(BulkItemProcessor bulkItemProcessor) {
+        this.bulkItemProcessor = bulkItemProcessor;
+    }
+
+    @Override
+    public void process(List<PipelineItem> batch) {
+        var ids = batch.stream().map(PipelineItem::getId).toList();
+        Map<Long, Item> updatedItems = bulkItemProcessor.claimAndUpdate(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        for (var pipelineItem : batch) {
+            var updatedItem = updatedItems.get(pipelineItem.getId());
+            if (updatedItem != null) {
+                pipelineItem.setItem(updatedItem);
+            } else if (pipelineItem.getItem() == null || pipelineItem.getItem().getStatus() != ItemStatus.PROCESSED) {
+                pipelineItem.fail(new EntityNotFoundException("Item with id: %d not found or already processed".formatted(pipelineItem.getId())));
+            }
+        }
+    }
+}
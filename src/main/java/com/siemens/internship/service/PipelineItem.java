@@ -0,0 +1,51 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An item on its way through the {@link ItemPipeline}. It starts with only its id, the first stage loads the item.
+ * Only one stage works on it at a time.
+ */
+public class PipelineItem {
+    private final long id;
+    private final CompletableFuture<Item> result = new CompletableFuture<>();
+    private Item item;
+    private Throwable failure;
+
+    PipelineItem(long id) {
+        this.id = id;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Item getItem() {
+        return item;
+    }
+
+    public void setItem(Item item) {
+        this.item = item;
+    }
+
+    /**
+     * Takes the item out of the pipeline, its result completes with the failure once the current stage is done.
+     */
+    public void fail(Throwable failure) {
+        this.failure = failure;
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+
+    Throwable getFailure() {
+        return failure;
+    }
+
+    CompletableFuture<Item> getResult() {
+        return result;
+    }
+}
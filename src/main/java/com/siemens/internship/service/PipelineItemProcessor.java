@@ -0,0 +1,74 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemProcessingProperties;
+import com.siemens.internship.model.Item;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Per-item processing through the {@link ItemPipeline} of {@code items.processing.pipeline.stages}, by default
+ * load (one query per batch), work (the simulated latency, on many threads) and persist (one UPDATE per batch).
+ * It takes the place of the {@link UpdateItemProcessor} behind the {@link RetryingItemProcessor}, so retries,
+ * the circuit breaker, deadlines and the in-flight window work the same, a retried item goes through all stages
+ * again.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(value = "items.processing.pipeline.enabled", havingValue = "true")
+public class PipelineItemProcessor implements AsyncItemProcessor {
+    private final ItemPipeline pipeline;
+    private final ItemProcessingMetrics metrics;
+
+    public PipelineItemProcessor(Map<String, ItemStage> stages,
+                                 ItemProcessingProperties properties,
+                                 ItemProcessingMetrics metrics,
+                                 MeterRegistry registry) {
+        var pipelineProperties = properties.pipeline();
+        List<ItemPipeline.Stage> pipelineStages = pipelineProperties.stages().stream()
+                .map(name -> {
+                    var stage = stages.get(name);
+                    if (stage == null) {
+                        throw new IllegalArgumentException("No item stage named %s, the stages are %s"
+                                .formatted(name, stages.keySet()));
+                    }
+
+                    var settings = pipelineProperties.settingsOf(name);
+                    return new ItemPipeline.Stage(name, stage, settings.concurrency(), settings.queueCapacity(),
+                            settings.batchSize(), settings.maxBatchWait());
+                })
+                .toList();
+
+        this.pipeline = new ItemPipeline(pipelineStages, registry);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public CompletableFuture<Item> process(long itemId) {
+        var sample = metrics.startTimer();
+        var result = pipeline.submit(itemId);
+        result.whenComplete((item, e) -> {
+            if (e == null) {
+                metrics.recordProcessed(sample);
+            } else {
+                metrics.recordFailed(sample);
+            }
+        });
+        return result;
+    }
+
+    public List<PipelineStageStatus> getStatus() {
+        return pipeline.getStatus();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        pipeline.stop();
+    }
+}
@@ -0,0 +1,19 @@
+package com.siemens.internship.service;
+
+/**
+ * @param busy     threads of the stage working on a batch right now
+ * @param queued   items waiting for the stage
+ * @param capacity items per second the stage gets through with all its threads busy, measured over the time its
+ *                 threads spent on batches. The stage with the lowest capacity is the bottleneck, its queue is the one
+ *                 that fills up
+ */
+public record PipelineStageStatus(String name,
+                                  int concurrency,
+                                  int busy,
+                                  int queued,
+                                  int queueCapacity,
+                                  int batchSize,
+                                  long processed,
+                                  long failed,
+                                  double capacity) {
+}
@@ -0,0 +1,7 @@
+package com.siemens.internship.service;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
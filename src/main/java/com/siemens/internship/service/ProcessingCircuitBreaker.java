@@ -0,0 +1,141 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemProcessingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Count based circuit breaker in front of the per-item tasks. The outcomes of the last {@code sliding-window-size}
+ * attempts are kept in a ring, once at least {@code minimum-calls} of them are known and the share of failures reaches
+ * the threshold the circuit opens and attempts are rejected without touching the database. After
+ * {@code open-duration} a few trial attempts are let through, if all of them succeed the circuit closes again, a
+ * single failure opens it for another round.
+ * <p>
+ * Only failures that say something about the database count, an item that doesn't exist is a successful call.
+ */
+@Component
+public class ProcessingCircuitBreaker {
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessingCircuitBreaker.class);
+    private final ItemProcessingProperties.CircuitBreaker properties;
+    private final Clock clock;
+    // all fields below are guarded by this
+    private final boolean[] outcomes;
+    private int recorded;
+    private int next;
+    private int failures;
+    private State state = State.CLOSED;
+    private Instant openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    @Autowired
+    public ProcessingCircuitBreaker(ItemProcessingProperties properties) {
+        this(properties.circuitBreaker(), Clock.systemUTC());
+    }
+
+    public ProcessingCircuitBreaker(ItemProcessingProperties.CircuitBreaker properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.outcomes = new boolean[properties.slidingWindowSize()];
+    }
+
+    /**
+     * @return whether an attempt may be made now, every permitted attempt has to be followed by
+     * {@link #recordSuccess()}, {@link #recordFailure()} or, when it was never made, {@link #releasePermission()}
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openedAt.plus(properties.openDuration()))) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= properties.halfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void recordFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+
+        if (state == State.CLOSED
+                && recorded >= properties.minimumCalls()
+                && failures >= properties.failureRateThreshold() * recorded) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void transitionTo(State newState) {
+        logger.info("Processing circuit breaker %s -> %s".formatted(state, newState));
+        state = newState;
+
+        switch (newState) {
+            case OPEN -> openedAt = clock.instant();
+            case HALF_OPEN -> {
+                halfOpenPermits = properties.halfOpenCalls();
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                recorded = 0;
+                next = 0;
+                failures = 0;
+            }
+        }
+    }
+}
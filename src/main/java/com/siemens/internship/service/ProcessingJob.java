@@ -0,0 +1,125 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Progress and results of one processing run started through {@code POST /api/items/process}.
+ * The counters are updated from the executor threads while the controller reads them.
+ */
+public class ProcessingJob {
+    public enum State {
+        RUNNING,
+        COMPLETED
+    }
+
+    private final UUID id;
+    private final int total;
+    private final Clock clock;
+    private final Instant createdAt;
+    private final AtomicInteger processed;
+    private final AtomicInteger failed;
+    private final AtomicReference<Instant> completedAt;
+    // guarded by itself
+    private final List<Item> results;
+    // guarded by itself
+    private final List<ItemFailure> failures;
+
+    public ProcessingJob(UUID id, int total, Clock clock) {
+        this.id = id;
+        this.total = total;
+        this.clock = clock;
+        this.createdAt = clock.instant();
+        this.processed = new AtomicInteger(0);
+        this.failed = new AtomicInteger(0);
+        this.completedAt = new AtomicReference<>();
+        this.results = new ArrayList<>();
+        this.failures = new ArrayList<>();
+        completeIfDone();
+    }
+
+    public void recordProcessed(Item item) {
+        synchronized (results) {
+            results.add(item);
+        }
+        processed.incrementAndGet();
+        completeIfDone();
+    }
+
+    public void recordFailed(ItemFailure failure) {
+        synchronized (failures) {
+            failures.add(failure);
+        }
+        failed.incrementAndGet();
+        completeIfDone();
+    }
+
+    private void completeIfDone() {
+        if (processed.get() + failed.get() >= total) {
+            completedAt.compareAndSet(null, clock.instant());
+        }
+    }
+
+    public List<Item> getResults(int page, int size) {
+        synchronized (results) {
+            return page(results, page, size);
+        }
+    }
+
+    public List<ItemFailure> getFailures(int page, int size) {
+        synchronized (failures) {
+            return page(failures, page, size);
+        }
+    }
+
+    private static <T> List<T> page(List<T> list, int page, int size) {
+        int from = Math.min(page * size, list.size());
+        int to = Math.min(from + size, list.size());
+        return List.copyOf(list.subList(from, to));
+    }
+
+    public boolean isExpired(Instant now, Duration ttl) {
+        var completed = completedAt.get();
+        return completed != null && completed.plus(ttl).isBefore(now);
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public State getState() {
+        return completedAt.get() == null ? State.RUNNING : State.COMPLETED;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getProcessed() {
+        return processed.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    public int getPending() {
+        return total - processed.get() - failed.get();
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt.get();
+    }
+}
@@ -0,0 +1,7 @@
+package com.siemens.internship.service;
+
+public class ProcessingJobLimitException extends RuntimeException {
+    public ProcessingJobLimitException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,81 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemProcessingProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the processing jobs in memory. Completed jobs are evicted once their ttl has passed, and when the registry
+ * is full the oldest completed job makes room for the new one. Running jobs are never evicted, so if all of them
+ * are still running a new job is refused.
+ */
+@Component
+public class ProcessingJobRegistry {
+    private final Map<UUID, ProcessingJob> jobs;
+    private final int maxJobs;
+    private final Duration ttl;
+    private final Clock clock;
+
+    @Autowired
+    public ProcessingJobRegistry(ItemProcessingProperties properties) {
+        this(properties.jobs().maxJobs(), properties.jobs().ttl(), Clock.systemUTC());
+    }
+
+    public ProcessingJobRegistry(int maxJobs, Duration ttl, Clock clock) {
+        this.jobs = new ConcurrentHashMap<>();
+        this.maxJobs = maxJobs;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public synchronized ProcessingJob register(int total) {
+        evictExpired();
+
+        if (jobs.size() >= maxJobs) {
+            evictOldestCompleted();
+        }
+
+        if (jobs.size() >= maxJobs) {
+            throw new ProcessingJobLimitException("Too many processing jobs are running, try again later");
+        }
+
+        var job = new ProcessingJob(UUID.randomUUID(), total, clock);
+        jobs.put(job.getId(), job);
+        return job;
+    }
+
+    public Optional<ProcessingJob> find(UUID jobId) {
+        var job = jobs.get(jobId);
+
+        if (job != null && job.isExpired(clock.instant(), ttl)) {
+            jobs.remove(jobId, job);
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(job);
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+
+    private void evictExpired() {
+        var now = clock.instant();
+        jobs.values().removeIf(job -> job.isExpired(now, ttl));
+    }
+
+    private void evictOldestCompleted() {
+        jobs.values().stream()
+                .filter(job -> job.getState() == ProcessingJob.State.COMPLETED)
+                .min(Comparator.comparing(ProcessingJob::getCompletedAt))
+                .ifPresent(job -> jobs.remove(job.getId()));
+    }
+}
@@ -0,0 +1,10 @@
+package com.siemens.internship.service;
+
+public enum ProcessingMode {
+    // every item is loaded, updated and saved on its own by the AsyncItemProcessor
+    PER_ITEM,
+    // items are claimed and updated in chunks, one UPDATE statement per chunk
+    BULK,
+    // like BULK, but every chunk is leased first so that several instances can work on the same backlog
+    LEASED
+}
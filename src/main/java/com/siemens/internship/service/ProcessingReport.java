@@ -0,0 +1,12 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+
+import java.util.List;
+
+/**
+ * Outcome of a processing request, every requested id is in {@code processedItems}, in {@code notProcessedItems} with
+ * the reason, or in {@code cancelledIds} when the request was cancelled before the item was started.
+ */
+public record ProcessingReport(List<Item> processedItems, List<ItemFailure> notProcessedItems, List<Long> cancelledIds) {
+}
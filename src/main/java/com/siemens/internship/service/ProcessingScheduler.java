@@ -0,0 +1,181 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemProcessingProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the backlog in the background instead of waiting for {@code /api/items/process}. The loop takes the next
+ * batch of unprocessed ids, processes it through {@link ItemService#processItems} (so the configured processing mode
+ * applies) and lets the {@link AdaptiveBatchSizer} resize the next batch after the latency of this one.
+ * <p>
+ * The batches are taken in passes over the backlog: every batch starts after the last id of the one before, so items
+ * that keep failing stay behind the cursor instead of being fetched again by every batch, and are retried once per
+ * pass. When a pass makes no progress, because the backlog is empty or only failing items are left, the loop waits
+ * with an exponential backoff before starting the next one.
+ */
+@Component
+public class ProcessingScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(ProcessingScheduler.class);
+    private final ItemService itemService;
+    private final Executor executor;
+    private final ItemProcessingProperties.Scheduler properties;
+    private final AdaptiveBatchSizer batchSizer;
+    private final AtomicLong processedItems = new AtomicLong();
+    private volatile double throughput;
+    private Duration idleBackoff;
+    // only used by the loop
+    private long cursor;
+    private long processedInPass;
+    // guarded by this
+    private boolean running;
+    private boolean loopActive;
+
+    public ProcessingScheduler(ItemService itemService,
+                               @Qualifier("processingSchedulerExecutor") Executor executor,
+                               ItemProcessingProperties processingProperties,
+                               ItemProcessingMetrics metrics) {
+        this.itemService = itemService;
+        this.executor = executor;
+        this.properties = processingProperties.scheduler();
+        this.batchSizer = new AdaptiveBatchSizer(
+                properties.initialBatchSize(),
+                properties.minBatchSize(),
+                properties.maxBatchSize(),
+                properties.batchSizeIncrement(),
+                properties.targetLatency());
+        this.idleBackoff = properties.minIdleBackoff();
+        metrics.registerScheduler(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startIfEnabled() {
+        if (properties.enabled()) {
+            start();
+        }
+    }
+
+    /**
+     * Starts the loop unless it is already running. A loop that was stopped but is still finishing its batch is
+     * simply kept going.
+     */
+    public synchronized void start() {
+        running = true;
+
+        if (!loopActive) {
+            loopActive = true;
+            executor.execute(this::runLoop);
+            logger.info("Processing scheduler started");
+        }
+    }
+
+    /**
+     * Stops taking new batches, the batch in progress still completes.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (running) {
+            running = false;
+            notifyAll();
+            logger.info("Processing scheduler stopped");
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    public SchedulerStatus getStatus() {
+        return new SchedulerStatus(isRunning(), batchSizer.size(), throughput, processedItems.get());
+    }
+
+    private void runLoop() {
+        while (continueLoop()) {
+            try {
+                if (!runBatch()) {
+                    backOff();
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Processing scheduler batch failed: %s".formatted(e.getMessage()));
+                batchSizer.onRejected();
+                backOff();
+            }
+        }
+    }
+
+    private synchronized boolean continueLoop() {
+        if (!running) {
+            loopActive = false;
+        }
+        return running;
+    }
+
+    /**
+     * @return false at the end of a pass that processed nothing, true otherwise
+     */
+    boolean runBatch() {
+        var itemIds = itemService.findUnprocessedIds(cursor, batchSizer.size());
+        if (itemIds.isEmpty()) {
+            return endPass();
+        }
+        cursor = itemIds.get(itemIds.size() - 1);
+
+        long start = System.nanoTime();
+        var report = itemService.processItems(itemIds);
+        var latency = Duration.ofNanos(System.nanoTime() - start);
+        var processed = report.processedItems().size();
+
+        batchSizer.onBatchCompleted(latency, !report.cancelledIds().isEmpty());
+        logger.debug("Processed %d of %d items in %d ms, next batch size %d"
+                .formatted(processed, itemIds.size(), latency.toMillis(), batchSizer.size()));
+
+        if (processed > 0) {
+            processedItems.addAndGet(processed);
+            processedInPass += processed;
+            throughput = processed / Math.max(latency.toNanos() / 1e9, 1e-9);
+        }
+        return true;
+    }
+
+    private boolean endPass() {
+        boolean progress = processedInPass > 0;
+        if (cursor > 0 && !progress) {
+            logger.debug("Pass ended without progress, the items left keep failing");
+        }
+
+        cursor = 0;
+        processedInPass = 0;
+        if (progress) {
+            idleBackoff = properties.minIdleBackoff();
+        }
+        return progress;
+    }
+
+    private synchronized void backOff() {
+        if (!running) {
+            return;
+        }
+
+        try {
+            wait(idleBackoff.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+
+        idleBackoff = min(idleBackoff.multipliedBy(2), properties.maxIdleBackoff());
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+}
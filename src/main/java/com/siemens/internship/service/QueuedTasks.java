@@ -0,0 +1,39 @@
+package com.siemens.internship.service;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Links a task queued by the {@code @Async} proxy back to the code that submitted it. The proxy hands only a
+ * {@code CompletableFuture} back and cancelling that leaves the task on the executor queue, so the executor's task
+ * decorator reports every queued task here, on the submitting thread, with a way to take it off the queue again.
+ */
+public final class QueuedTasks {
+    private static final ThreadLocal<Consumer<BooleanSupplier>> listener = new ThreadLocal<>();
+
+    private QueuedTasks() {
+    }
+
+    /**
+     * Runs the submission, tasks queued by it are handed to {@code onQueued} as a removal that returns whether the
+     * task was still on the queue. Executors without a queue never report anything.
+     */
+    public static <T> T capture(Consumer<BooleanSupplier> onQueued, Supplier<T> submission) {
+        var previous = listener.get();
+        listener.set(onQueued);
+        try {
+            return submission.get();
+        } finally {
+            listener.set(previous);
+        }
+    }
+
+    // called by the task decorator of the executor
+    public static void queued(BooleanSupplier removal) {
+        var onQueued = listener.get();
+        if (onQueued != null) {
+            onQueued.accept(removal);
+        }
+    }
+}
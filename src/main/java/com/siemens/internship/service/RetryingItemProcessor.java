@@ -0,0 +1,155 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemProcessingProperties;
+import com.siemens.internship.model.Item;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs the per-item tasks of the {@link AsyncItemProcessor} with retries. A failed attempt is tried again after an
+ * exponential backoff with jitter, so that items failing together don't come back together. The wait is a timer of
+ * {@link CompletableFuture#delayedExecutor}, no executor thread is held while an item waits for its next attempt.
+ * <p>
+ * Every attempt goes through the {@link ProcessingCircuitBreaker}, while it is open the remaining attempts fail
+ * right away. An item that doesn't exist is not retried.
+ * <p>
+ * When the {@link CancellationToken} of the request is cancelled, an item whose attempt is still on the executor queue
+ * is taken off it and an item waiting for a retry stops waiting, both complete with a {@link CancellationException}.
+ * An attempt that already started is left to finish, so the result says what really happened to the item.
+ */
+@Component
+public class RetryingItemProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(RetryingItemProcessor.class);
+    private final AsyncItemProcessor itemProcessor;
+    private final ProcessingCircuitBreaker circuitBreaker;
+    private final ItemProcessingMetrics metrics;
+    private final ItemProcessingProperties.Retry properties;
+
+    public RetryingItemProcessor(AsyncItemProcessor itemProcessor,
+                                 ProcessingCircuitBreaker circuitBreaker,
+                                 ItemProcessingMetrics metrics,
+                                 ItemProcessingProperties properties) {
+        this.itemProcessor = itemProcessor;
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = metrics;
+        this.properties = properties.retry();
+        metrics.registerCircuitBreaker(circuitBreaker);
+    }
+
+    public CompletableFuture<Item> process(long itemId) {
+        return process(itemId, new CancellationToken());
+    }
+
+    /**
+     * @return a future completed with the processed item, or exceptionally with the failure of the last attempt or a
+     * {@link CancellationException} when the item was cancelled before it was processed
+     */
+    public CompletableFuture<Item> process(long itemId, CancellationToken token) {
+        var result = new CompletableFuture<Item>();
+        attempt(itemId, 1, result, token);
+        return result;
+    }
+
+    private void attempt(long itemId, int attempt, CompletableFuture<Item> result, CancellationToken token) {
+        if (token.isCancelled()) {
+            cancel(itemId, result, token);
+            return;
+        }
+
+        if (!circuitBreaker.tryAcquirePermission()) {
+            result.completeExceptionally(new CircuitBreakerOpenException(
+                    "Item with id: %d was not processed, processing is paused after repeated failures".formatted(itemId)));
+            return;
+        }
+
+        var removal = new AtomicReference<BooleanSupplier>();
+        CompletableFuture<Item> task;
+        try {
+            task = QueuedTasks.capture(removal::set, () -> itemProcessor.process(itemId));
+        } catch (RuntimeException e) {
+            task = CompletableFuture.failedFuture(e);
+        }
+
+        var queuedTask = task;
+        var stopWaitingForCancel = token.onCancel(() -> {
+            var remove = removal.get();
+            if (remove != null && remove.getAsBoolean()) {
+                circuitBreaker.releasePermission();
+                cancel(itemId, result, token);
+                queuedTask.cancel(false);
+            }
+        });
+
+        task.whenComplete((item, e) -> {
+            stopWaitingForCancel.run();
+            if (result.isDone()) {
+                return;
+            }
+
+            if (e == null) {
+                circuitBreaker.recordSuccess();
+                result.complete(item);
+                return;
+            }
+
+            var cause = unwrap(e);
+            if (cause instanceof EntityNotFoundException) {
+                circuitBreaker.recordSuccess();
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            circuitBreaker.recordFailure();
+            if (attempt >= properties.maxAttempts()) {
+                result.completeExceptionally(cause);
+                return;
+            }
+
+            var backoff = backoff(attempt);
+            logger.debug("Attempt %d of item %d failed, retrying in %d ms: %s"
+                    .formatted(attempt, itemId, backoff.toMillis(), cause.getMessage()));
+            metrics.recordRetry();
+            var stopWaitingForRetry = token.onCancel(() -> cancel(itemId, result, token));
+            CompletableFuture.delayedExecutor(backoff.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+                stopWaitingForRetry.run();
+                if (!result.isDone()) {
+                    attempt(itemId, attempt + 1, result, token);
+                }
+            });
+        });
+    }
+
+    private static void cancel(long itemId, CompletableFuture<Item> result, CancellationToken token) {
+        result.completeExceptionally(new CancellationException(
+                "Item with id: %d was cancelled, %s".formatted(itemId, token.getReason())));
+    }
+
+    /**
+     * Exponential backoff with equal jitter: half of the wait is fixed and the other half is random.
+     */
+    Duration backoff(int attempt) {
+        double exponential = properties.initialBackoff().toMillis() * Math.pow(properties.multiplier(), attempt - 1);
+        long capped = (long) Math.min(exponential, properties.maxBackoff().toMillis());
+        long half = capped / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(capped - half + 1));
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        while ((e instanceof CompletionException || e instanceof ExecutionException) && e.getCause() != null) {
+            e = e.getCause();
+        }
+        return e;
+    }
+}
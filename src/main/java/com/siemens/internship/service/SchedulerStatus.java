@@ -0,0 +1,7 @@
+package com.siemens.internship.service;
+
+/**
+ * @param throughput items per second of the last batch that made progress
+ */
+public record SchedulerStatus(boolean running, int batchSize, double throughput, long processedItems) {
+}
@@ -0,0 +1,31 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemProcessingProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Stands for the work done on every item between loading and persisting it (validating, enriching, calling other
+ * services), the {@code simulated-latency} of the per-item processor. It holds no connection, so it can run on many
+ * more threads than the stages talking to the database.
+ */
+@Component("work")
+public class SimulatedWorkStage implements ItemStage {
+    private final Duration simulatedLatency;
+
+    public SimulatedWorkStage(ItemProcessingProperties properties) {
+        this.simulatedLatency = properties.simulatedLatency();
+    }
+
+    @Override
+    public void process(List<PipelineItem> batch) {
+        try {
+            Thread.sleep(simulatedLatency.toMillis() * batch.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while working on %d items".formatted(batch.size()), e);
+        }
+    }
+}
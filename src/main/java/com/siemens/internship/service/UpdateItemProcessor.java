@@ -1,5 +1,6 @@
 package com.siemens.internship.service;
 
+import com.siemens.internship.config.ItemProcessingProperties;
 import com.siemens.internship.model.Item;
 import com.siemens.internship.model.ItemStatus;
 import com.siemens.internship.repository.ItemRepository;
@@ -7,21 +8,44 @@ import jakarta.persistence.EntityNotFoundException;
 import lombok.SneakyThrows;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 public class UpdateItemProcessor implements AsyncItemProcessor {
     private static final Logger logger = LoggerFactory.getLogger(UpdateItemProcessor.class);
     private final ItemRepository itemRepository;
-    private final AtomicInteger processedCount;
+    private final ItemCache itemCache;
+    private final ItemStatusCounters statusCounters;
+    private final ItemChangeFeed changeFeed;
+    private final ConnectionBudget connectionBudget;
+    private final ItemProcessingMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration simulatedLatency;
 
-    public UpdateItemProcessor(ItemRepository itemRepository) {
+    public UpdateItemProcessor(ItemRepository itemRepository,
+                               ItemCache itemCache,
+                               ItemStatusCounters statusCounters,
+                               ItemChangeFeed changeFeed,
+                               @Qualifier("processingConnectionBudget") ConnectionBudget connectionBudget,
+                               ItemProcessingMetrics metrics,
+                               PlatformTransactionManager transactionManager,
+                               ItemProcessingProperties properties) {
         this.itemRepository = itemRepository;
-        this.processedCount = new AtomicInteger(0);
+        this.itemCache = itemCache;
+        this.statusCounters = statusCounters;
+        this.changeFeed = changeFeed;
+        this.connectionBudget = connectionBudget;
+        this.metrics = metrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.simulatedLatency = properties.simulatedLatency();
     }
 
     @Async
@@ -29,22 +53,34 @@ public class UpdateItemProcessor implements AsyncItemProcessor {
     @SneakyThrows
     public CompletableFuture<Item> process(long itemId) {
         logger.debug("Processing item %d".formatted(itemId));
+        var sample = metrics.startTimer();
 
-        Thread.sleep(100);
+        try {
+            Thread.sleep(simulatedLatency.toMillis());
 
-        var itemToProcess = itemRepository.findById(itemId)
-                .orElseThrow(() -> new EntityNotFoundException("Item with id: %d not found".formatted(itemId)));
+            // one transaction, so the status counters learn about the transition while it commits and not after
+            var updatedItem = connectionBudget.call(() -> transactionTemplate.execute(status -> {
+                var itemToProcess = metrics.timeRead(() -> itemRepository.findById(itemId))
+                        .orElseThrow(() -> new EntityNotFoundException("Item with id: %d not found".formatted(itemId)));
 
-        itemToProcess.setStatus(ItemStatus.PROCESSED);
-        var updatedItem = itemRepository.save(itemToProcess);
+                var previousStatus = itemToProcess.getStatus();
+                itemToProcess.setStatus(ItemStatus.PROCESSED);
+                // the update is conditional on the version that was read, so the transition is counted at most once
+                var savedItem = metrics.timeUpdate(() -> itemRepository.saveAndFlush(itemToProcess));
+                statusCounters.recordTransition(previousStatus, ItemStatus.PROCESSED, 1);
+                if (previousStatus != ItemStatus.PROCESSED) {
+                    changeFeed.recordStatusChanged(List.of(itemId), ItemStatus.PROCESSED);
+                }
+                return savedItem;
+            }));
+            itemCache.invalidate(itemId);
 
-        this.processedCount.incrementAndGet();
-
-        logger.debug("Finished processing item: %d".formatted(itemId));
-        return CompletableFuture.completedFuture(updatedItem);
-    }
-
-    public int getProcessedCount() {
-        return this.processedCount.get();
+            metrics.recordProcessed(sample);
+            logger.debug("Finished processing item: %d".formatted(itemId));
+            return CompletableFuture.completedFuture(updatedItem);
+        } catch (Exception e) {
+            metrics.recordFailed(sample);
+            throw e;
+        }
     }
 }
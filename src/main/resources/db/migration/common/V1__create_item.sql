@@ -0,0 +1,13 @@
+-- ids are taken from a pooled sequence, the increment has to match the allocationSize of Item
+CREATE SEQUENCE item_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE item (
+    id               BIGINT       NOT NULL PRIMARY KEY,
+    name             VARCHAR(255),
+    description      VARCHAR(255),
+    status           VARCHAR(255) CHECK (status IN ('UNPROCESSED', 'PROCESSED')),
+    email            VARCHAR(255),
+    version          BIGINT,
+    lease_owner      VARCHAR(255),
+    lease_expires_at TIMESTAMP(6) WITH TIME ZONE
+);
@@ -0,0 +1,10 @@
+-- Checkpoints of the NDJSON imports, advanced in the transaction of every chunk, so an import sent again with the
+-- same id skips exactly the lines that were committed
+CREATE TABLE item_import (
+    id              VARCHAR(64)                 NOT NULL PRIMARY KEY,
+    committed_lines BIGINT                      NOT NULL,
+    imported        BIGINT                      NOT NULL,
+    failed          BIGINT                      NOT NULL,
+    completed       BOOLEAN                     NOT NULL,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
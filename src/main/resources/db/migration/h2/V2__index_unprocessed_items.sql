@@ -0,0 +1,4 @@
+-- H2 has no partial indexes, (status, id) serves the same lookups: a range over the UNPROCESSED entries that is
+-- already ordered by id and holds the id, so the table rows are not read. Keyset pages and id lookups use the
+-- primary key.
+CREATE INDEX item_status_id_idx ON item (status, id);
@@ -0,0 +1,16 @@
+-- A schema created by ddl-auto is adopted as version 1 (spring.flyway.baseline-on-migrate), this brings it in line
+-- with V1 and changes nothing on a schema V1 created. Older builds generated the ids with an identity column, and
+-- Hibernate created item_seq on top of the existing ids, so the sequence is moved past them.
+ALTER TABLE item ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE IF NOT EXISTS item_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE item_seq INCREMENT BY 50;
+ALTER SEQUENCE item_seq RESTART WITH (
+    SELECT GREATEST(s.BASE_VALUE, COALESCE(MAX(i.id), -50) + 51)
+    FROM INFORMATION_SCHEMA.SEQUENCES s LEFT JOIN item i ON TRUE
+    WHERE s.SEQUENCE_SCHEMA = SCHEMA() AND s.SEQUENCE_NAME = 'ITEM_SEQ'
+    GROUP BY s.BASE_VALUE);
+
+ALTER TABLE item ADD COLUMN IF NOT EXISTS version BIGINT;
+ALTER TABLE item ADD COLUMN IF NOT EXISTS lease_owner VARCHAR(255);
+ALTER TABLE item ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP(6) WITH TIME ZONE;
+UPDATE item SET version = 0 WHERE version IS NULL;
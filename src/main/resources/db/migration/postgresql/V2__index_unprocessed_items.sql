@@ -0,0 +1,4 @@
+-- Only the backlog is indexed, processed items (most of the table) are not in the index at all.
+-- Serves findAllIds and findUnprocessedIds (WHERE status = 'UNPROCESSED' ORDER BY id LIMIT n), the queries
+-- use the literal so the planner can match the predicate. Keyset pages and id lookups use the primary key.
+CREATE INDEX item_unprocessed_id_idx ON item (id) WHERE status = 'UNPROCESSED';
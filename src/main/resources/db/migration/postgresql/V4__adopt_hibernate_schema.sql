@@ -0,0 +1,15 @@
+-- A schema created by ddl-auto is adopted as version 1 (spring.flyway.baseline-on-migrate), this brings it in line
+-- with V1 and changes nothing on a schema V1 created. Older builds generated the ids with an identity column, and
+-- Hibernate created item_seq on top of the existing ids, so the sequence is moved past them: the pooled optimizer
+-- hands out the 50 ids up to the value it gets, which must all be above the existing ones.
+ALTER TABLE item ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS item_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE item_seq INCREMENT BY 50;
+SELECT setval('item_seq', ids.max_id)
+FROM (SELECT MAX(id) AS max_id FROM item) ids, item_seq seq
+WHERE ids.max_id >= (CASE WHEN seq.is_called THEN seq.last_value + 50 ELSE seq.last_value END) - 49;
+
+ALTER TABLE item ADD COLUMN IF NOT EXISTS version BIGINT;
+ALTER TABLE item ADD COLUMN IF NOT EXISTS lease_owner VARCHAR(255);
+ALTER TABLE item ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP(6) WITH TIME ZONE;
+UPDATE item SET version = 0 WHERE version IS NULL;
@@ -0,0 +1,37 @@
+package com.siemens.internship;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class MetricsEndpointTests {
+    @Autowired
+    MockMvc mvc;
+
+    @Test
+    void test_prometheusEndpoint_exposesProcessingExecutorAndRequestMetrics() throws Exception {
+        mvc.perform(get("/api/items")).andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("items_processing_duration_seconds_bucket{phase=\"total\"")))
+                .andExpect(content().string(containsString("items_processing_items_total")))
+                .andExpect(content().string(containsString("items_processing_in_flight")))
+                .andExpect(content().string(containsString("executor_active_threads{name=\"taskExecutor\"")))
+                .andExpect(content().string(containsString("executor_queued_tasks{name=\"taskExecutor\"")))
+                .andExpect(content().string(containsString("executor_rejected_total{name=\"taskExecutor\"")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"items\"")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")));
+    }
+}
@@ -0,0 +1,81 @@
+package com.siemens.internship.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReplicaRoutingDataSourceTests {
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void test_getConnection_replicaPreferred_roundRobinsOverReplicas() throws SQLException {
+        var routing = new ReplicaRoutingDataSource(pool("primary"), List.of(pool("replica-a"), pool("replica-b")));
+
+        try (var replica = ReplicaRouting.preferReplica()) {
+            assertEquals(List.of("replica-a", "replica-b", "replica-a"),
+                    List.of(databaseOf(routing), databaseOf(routing), databaseOf(routing)));
+        }
+    }
+
+    @Test
+    void test_getConnection_replicaNotPreferredOrPinnedOrWriting_usesPrimary() throws SQLException {
+        var routing = new ReplicaRoutingDataSource(pool("primary"), List.of(pool("replica-a")));
+
+        assertEquals("primary", databaseOf(routing));
+
+        try (var replica = ReplicaRouting.preferReplica(); var pinned = ReplicaRouting.pinToPrimary()) {
+            assertEquals("primary", databaseOf(routing));
+        }
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try (var replica = ReplicaRouting.preferReplica()) {
+            assertEquals("primary", databaseOf(routing));
+
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            assertEquals("replica-a", databaseOf(routing));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+
+    @Test
+    void test_getConnection_replicaUnavailable_fallsBackToPrimary() throws SQLException {
+        var unavailable = new HikariDataSource();
+        unavailable.setJdbcUrl("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+        unavailable.setConnectionTimeout(250);
+        unavailable.setInitializationFailTimeout(-1);
+        pools.add(unavailable);
+        var routing = new ReplicaRoutingDataSource(pool("primary"), List.of(unavailable));
+
+        try (var replica = ReplicaRouting.preferReplica()) {
+            assertEquals("primary", databaseOf(routing));
+        }
+    }
+
+    private HikariDataSource pool(String database) {
+        var pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:%s;DB_CLOSE_DELAY=-1".formatted(database));
+        pool.setUsername("sa");
+        pools.add(pool);
+        return pool;
+    }
+
+    private static String databaseOf(ReplicaRoutingDataSource routing) throws SQLException {
+        try (var connection = routing.getConnection()) {
+            return connection.getCatalog().toLowerCase();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Overload through a real server: a local load generator sends a burst of processing requests together with reads,
+ * the processing class is pinned to 2 concurrent requests. The reads stay within the interactive bulkhead, so only the
+ * admission control can refuse them.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "items.processing.simulated-latency=1s",
+        "items.admission.process.initial-limit=2",
+        "items.admission.process.min-limit=2",
+        "items.admission.process.max-limit=2"
+})
+public class AdmissionControlTests {
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    HttpClient httpClient = HttpClient.newHttpClient();
+
+    List<Long> givenIds;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+        givenIds = itemRepository.saveAll(List.of(
+                        new Item("name", "description", "email@email.com"),
+                        new Item("name", "description", "email@email.com")))
+                .stream()
+                .map(Item::getId)
+                .toList();
+    }
+
+    @Test
+    void test_processingBurst_excessIsShedFastAndReadsAreNotStarved() throws Exception {
+        var executor = Executors.newFixedThreadPool(32);
+        var start = new CountDownLatch(1);
+        List<Future<TimedResponse>> processResponses = new ArrayList<>();
+        List<Future<TimedResponse>> readResponses = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 12; i++) {
+                processResponses.add(executor.submit(() -> send(start, "/api/items/process")));
+            }
+            for (int i = 0; i < 8; i++) {
+                var id = givenIds.get(i % givenIds.size());
+                readResponses.add(executor.submit(() -> send(start, "/api/items/" + id)));
+            }
+            start.countDown();
+
+            int processed = 0;
+            int shed = 0;
+            for (var future : processResponses) {
+                var response = future.get(30, TimeUnit.SECONDS);
+                if (response.status() == 200) {
+                    processed++;
+                } else {
+                    assertEquals(503, response.status());
+                    assertEquals("1", response.retryAfter());
+                    assertTrue(response.latency().toMillis() < 1_000, "shed after " + response.latency());
+                    shed++;
+                }
+            }
+            assertEquals(2, processed);
+            assertEquals(10, shed);
+
+            for (var future : readResponses) {
+                assertEquals(200, future.get(30, TimeUnit.SECONDS).status());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        var rejected = meterRegistry.get("items.admission.rejected").tag("endpoint", "process").counter();
+        assertEquals(10, rejected.count());
+    }
+
+    private TimedResponse send(CountDownLatch start, String path) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:%d%s".formatted(port, path))).GET().build();
+        start.await();
+
+        long sentAt = System.nanoTime();
+        var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        return new TimedResponse(response.statusCode(),
+                response.headers().firstValue(HttpHeaders.RETRY_AFTER).orElse(null),
+                Duration.ofNanos(System.nanoTime() - sentAt));
+    }
+
+    private record TimedResponse(int status, String retryAfter, Duration latency) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.service.BulkheadResizeException;
+import com.siemens.internship.service.BulkheadStatus;
+import com.siemens.internship.service.Bulkheads;
+import com.siemens.internship.utils.RequestFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BulkheadController.class)
+public class BulkheadControllerTests {
+    @Autowired
+    MockMvc mvc;
+
+    @MockBean
+    Bulkheads bulkheads;
+
+    @Test
+    void test_whenGetBulkheads_returnsBoth() throws Exception {
+        when(bulkheads.getStatus()).thenReturn(List.of(
+                new BulkheadStatus("interactive", 10, 7, null),
+                new BulkheadStatus("processing", 10, 0, 10)));
+
+        mvc.perform(get("/api/bulkheads"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("interactive"))
+                .andExpect(jsonPath("$[0].availableCalls").value(7))
+                .andExpect(jsonPath("$[1].threads").value(10));
+    }
+
+    @Test
+    void test_whenResize_passesNewSizes() throws Exception {
+        when(bulkheads.resize("processing", 6, null)).thenReturn(new BulkheadStatus("processing", 6, 6, 10));
+
+        mvc.perform(RequestFactory.create(put("/api/bulkheads/processing"), "{\"maxConcurrentCalls\": 6}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maxConcurrentCalls").value(6));
+    }
+
+    @Test
+    void test_whenResize_belowOne_returnsBadRequest() throws Exception {
+        mvc.perform(RequestFactory.create(put("/api/bulkheads/processing"), "{\"threads\": 0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail[0]").value("threads must be at least 1"));
+
+        verify(bulkheads, never()).resize(anyString(), any(), any());
+    }
+
+    @Test
+    void test_whenResize_unknownBulkhead_returnsNotFound() throws Exception {
+        when(bulkheads.resize("unknown", 6, null)).thenThrow(new EntityNotFoundException("Bulkhead unknown not found"));
+
+        mvc.perform(RequestFactory.create(put("/api/bulkheads/unknown"), "{\"maxConcurrentCalls\": 6}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void test_whenResize_interactiveThreads_returnsBadRequest() throws Exception {
+        when(bulkheads.resize("interactive", null, 5))
+                .thenThrow(new BulkheadResizeException("The interactive bulkhead has no thread pool to resize"));
+
+        mvc.perform(RequestFactory.create(put("/api/bulkheads/interactive"), "{\"threads\": 5}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail[0]").value("The interactive bulkhead has no thread pool to resize"));
+    }
+}
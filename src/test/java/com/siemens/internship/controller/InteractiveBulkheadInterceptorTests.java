@@ -0,0 +1,77 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ConnectionBudget;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "items.bulkheads.interactive.max-concurrent-calls=1",
+        "items.bulkheads.interactive.max-wait=10ms"
+})
+@AutoConfigureMockMvc
+public class InteractiveBulkheadInterceptorTests {
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    @Qualifier("interactiveConnectionBudget")
+    ConnectionBudget interactiveBudget;
+
+    @Test
+    void test_whenBudgetExhausted_itemRequestsAreRejected() throws Exception {
+        var item = itemRepository.save(new Item("name", "description", "email@email.com"));
+        assertTrue(interactiveBudget.tryAcquire(Duration.ZERO));
+
+        try {
+            mvc.perform(get("/api/items/{id}", item.getId()))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+            // the processing endpoints are not part of the interactive bulkhead
+            mvc.perform(get("/api/items/scheduler"))
+                    .andExpect(status().isOk());
+        } finally {
+            interactiveBudget.release();
+        }
+
+        mvc.perform(get("/api/items/{id}", item.getId()))
+                .andExpect(status().isOk());
+        assertEquals(1, interactiveBudget.getAvailable());
+    }
+
+    @Test
+    void test_streamedBody_keepsPermitUntilWritten() throws Exception {
+        itemRepository.save(new Item("name", "description", "email@email.com"));
+
+        var result = mvc.perform(get("/api/items/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        assertEquals(0, interactiveBudget.getAvailable());
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+        assertEquals(1, interactiveBudget.getAvailable());
+    }
+}
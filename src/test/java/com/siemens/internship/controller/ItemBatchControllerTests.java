@@ -0,0 +1,80 @@
+package com.siemens.internship.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.service.BatchError;
+import com.siemens.internship.service.BatchResult;
+import com.siemens.internship.service.BatchTooLargeException;
+import com.siemens.internship.service.ItemBatchService;
+import com.siemens.internship.utils.RequestFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItemBatchController.class)
+public class ItemBatchControllerTests {
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    MockMvc mvc;
+
+    @MockBean
+    ItemBatchService itemBatchService;
+
+    @Test
+    void test_whenCreateItems_someInvalid_returnsCreatedWithErrors() throws Exception {
+        var givenItems = List.of(new Item("test", "test", "test@email.com"), new Item("", "test", "test@email.com"));
+        var createdItem = new Item(1L, "test", "test", ItemStatus.UNPROCESSED, "test@email.com");
+
+        when(itemBatchService.createAll(anyList()))
+                .thenReturn(new BatchResult(List.of(createdItem), List.of(new BatchError(1, Set.of("name is required")))));
+
+        mvc.perform(RequestFactory.create(post("/api/items/batch"), objectMapper.writeValueAsString(givenItems)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1));
+    }
+
+    @Test
+    void test_whenCreateItems_allInvalid_returns400() throws Exception {
+        var givenItems = List.of(new Item("", "test", "test@email.com"));
+
+        when(itemBatchService.createAll(anyList()))
+                .thenReturn(new BatchResult(List.of(), List.of(new BatchError(0, Set.of("name is required")))));
+
+        mvc.perform(RequestFactory.create(post("/api/items/batch"), objectMapper.writeValueAsString(givenItems)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void test_whenUpdateItems_returnsOk() throws Exception {
+        var givenItems = List.of(new Item(1L, "test", "test", null, "test@email.com"));
+
+        when(itemBatchService.updateAll(anyList())).thenReturn(new BatchResult(givenItems, List.of()));
+
+        mvc.perform(RequestFactory.create(put("/api/items/batch"), objectMapper.writeValueAsString(givenItems)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void test_whenCreateItems_tooMany_returns413() throws Exception {
+        when(itemBatchService.createAll(anyList())).thenThrow(new BatchTooLargeException("too many"));
+
+        mvc.perform(RequestFactory.create(post("/api/items/batch"), "[]"))
+                .andExpect(status().isPayloadTooLarge());
+    }
+}
@@ -0,0 +1,112 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.service.ItemChangeFeed;
+import com.siemens.internship.service.ItemService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"items.changes.retention=5", "items.changes.max-page-size=2"})
+@AutoConfigureMockMvc
+public class ItemChangeControllerTests {
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemChangeFeed changeFeed;
+
+    @Test
+    void test_getChanges_withoutSince_returnsHead() throws Exception {
+        mvc.perform(get("/api/items/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes").isEmpty())
+                .andExpect(jsonPath("$.nextSince").value(changeFeed.head()));
+    }
+
+    @Test
+    void test_getChanges_since_returnsChangesInPagesOfMaxPageSize() throws Exception {
+        long head = changeFeed.head();
+        var first = itemService.save(new Item("name", "description", "email@email.com"));
+        var second = itemService.save(new Item("name", "description", "email@email.com"));
+        itemService.deleteById(first.getId());
+
+        mvc.perform(get("/api/items/changes").param("since", String.valueOf(head)).param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes.length()").value(2))
+                .andExpect(jsonPath("$.changes[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.changes[0].itemId").value(first.getId()))
+                .andExpect(jsonPath("$.changes[1].itemId").value(second.getId()))
+                .andExpect(jsonPath("$.nextSince").value(head + 2))
+                .andExpect(jsonPath("$.hasMore").value(true));
+
+        mvc.perform(get("/api/items/changes").param("since", String.valueOf(head + 2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].type").value("DELETED"))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void test_getChanges_expiredCursor_returns410() throws Exception {
+        long head = changeFeed.head();
+        for (int i = 0; i < 6; i++) {
+            itemService.save(new Item("name", "description", "email@email.com"));
+        }
+
+        mvc.perform(get("/api/items/changes").param("since", String.valueOf(head)))
+                .andExpect(status().isGone())
+                .andExpect(jsonPath("$.detail").isNotEmpty());
+    }
+
+    @Test
+    void test_streamChanges_sendsChangesAfterLastEventId() throws Exception {
+        long head = changeFeed.head();
+        var before = itemService.save(new Item("name", "description", "email@email.com"));
+
+        var result = mvc.perform(get("/api/items/changes/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", String.valueOf(head)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        var after = itemService.save(new Item("name", "description", "email@email.com"));
+
+        awaitContent(result, "id:" + (head + 2));
+        var content = result.getResponse().getContentAsString();
+        assertTrue(content.contains("id:%d\nevent:CREATED\ndata:{".formatted(head + 1)), content);
+        assertTrue(content.contains("\"itemId\":%d".formatted(before.getId())), content);
+        assertTrue(content.contains("\"itemId\":%d".formatted(after.getId())), content);
+    }
+
+    @Test
+    void test_streamChanges_expiredCursor_returns410() throws Exception {
+        long head = changeFeed.head();
+        for (int i = 0; i < 6; i++) {
+            itemService.save(new Item("name", "description", "email@email.com"));
+        }
+
+        mvc.perform(get("/api/items/changes/stream").param("since", String.valueOf(head)))
+                .andExpect(status().isGone());
+    }
+
+    private static void awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!result.getResponse().getContentAsString().contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -4,7 +4,16 @@ package com.siemens.internship.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.siemens.internship.model.Item;
 import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemSummary;
+import com.siemens.internship.repository.ItemsVersion;
+import com.siemens.internship.service.InvalidCursorException;
+import com.siemens.internship.service.ItemFailure;
+import com.siemens.internship.service.ItemPage;
 import com.siemens.internship.service.ItemService;
+import com.siemens.internship.service.ItemStats;
+import com.siemens.internship.service.PreconditionFailedException;
+import com.siemens.internship.service.ProcessingJob;
+import com.siemens.internship.service.ProcessingReport;
 import com.siemens.internship.utils.RequestFactory;
 import com.siemens.internship.utils.ResponseFactory;
 import jakarta.persistence.EntityNotFoundException;
@@ -13,17 +22,31 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ItemController.class)
 public class ItemControllerTests {
@@ -113,7 +136,7 @@ public class ItemControllerTests {
         var givenId = 1L;
         var givenItem = new Item("name", "description", "email@email.com");
 
-        when(itemService.findById(givenId)).thenThrow(new EntityNotFoundException("Item 1 not found"));
+        when(itemService.update(eq(givenId), any(), isNull())).thenThrow(new EntityNotFoundException("Item 1 not found"));
 
         var request = RequestFactory.create(put("/api/items/{id}", givenId), prepareRequestPayload(givenItem));
 
@@ -129,18 +152,84 @@ public class ItemControllerTests {
     void test_whenUpdateItem_returnsUpdatedItem() throws Exception {
         var givenId = 1L;
         var givenItem = new Item(null, "name", "description",  ItemStatus.PROCESSED, "email@email.com");
-        var existingItem = new Item(givenId, "name", "description", ItemStatus.UNPROCESSED, "email@email.com");
         var updatedItem = new Item(givenId, "name", "description", ItemStatus.PROCESSED, "email@email.com");
+        updatedItem.setVersion(3L);
 
-        when(itemService.findById(givenId)).thenReturn(existingItem);
-        when(itemService.save(givenItem)).thenReturn(updatedItem);
+        when(itemService.update(givenId, givenItem, null)).thenReturn(updatedItem);
 
         var request = RequestFactory.create(put("/api/items/{id}", givenId), prepareRequestPayload(givenItem));
 
+        mvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    void test_whenUpdateItem_ifMatch_passesExpectedVersions() throws Exception {
+        var givenId = 1L;
+        var givenItem = new Item(null, "name", "description", null, "email@email.com");
+        var updatedItem = new Item(givenId, "name", "description", ItemStatus.UNPROCESSED, "email@email.com");
+        updatedItem.setVersion(3L);
+
+        when(itemService.update(givenId, givenItem, Set.of(2L))).thenReturn(updatedItem);
+
+        var request = RequestFactory.create(put("/api/items/{id}", givenId), prepareRequestPayload(givenItem))
+                .header("If-Match", "\"2\", W/\"1\"");
+
         mvc.perform(request)
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void test_whenUpdateItem_versionMismatch_returns412() throws Exception {
+        var givenId = 1L;
+        var givenItem = new Item("name", "description", "email@email.com");
+
+        when(itemService.update(givenId, givenItem, Set.of(1L))).thenThrow(new PreconditionFailedException("modified"));
+
+        var request = RequestFactory.create(put("/api/items/{id}", givenId), prepareRequestPayload(givenItem))
+                .header("If-Match", "\"1\"");
+
+        mvc.perform(request)
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void test_whenGetItemById_returnsETag() throws Exception {
+        var givenItem = new Item(1L);
+        givenItem.setVersion(7L);
+
+        when(itemService.findById(1L)).thenReturn(givenItem);
+
+        mvc.perform(get("/api/items/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""));
+    }
+
+    @Test
+    void test_whenGetItemById_ifNoneMatchCurrentVersion_returns304WithoutLoadingItem() throws Exception {
+        when(itemService.findVersionById(1L)).thenReturn(7L);
+
+        mvc.perform(get("/api/items/{id}", 1L).header("If-None-Match", "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"7\""));
+
+        verify(itemService, never()).findById(1L);
+    }
+
+    @Test
+    void test_whenGetItemById_ifNoneMatchOldVersion_returnsItem() throws Exception {
+        var givenItem = new Item(1L);
+        givenItem.setVersion(8L);
+
+        when(itemService.findVersionById(1L)).thenReturn(8L);
+        when(itemService.findById(1L)).thenReturn(givenItem);
+
+        mvc.perform(get("/api/items/{id}", 1L).header("If-None-Match", "\"7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"8\""));
+    }
+
     @Test
     void test_whenGetItemById_itemDoesNotExist_returns404() throws Exception {
         var givenId = 1L;
@@ -174,25 +263,213 @@ public class ItemControllerTests {
 
     @Test
     void test_whenGetAllItems_returns200() throws Exception {
-        var expectedItems = Stream.generate(Item::new).limit(5).toList();
+        var expectedItems = Stream.generate(() -> new ItemSummary(1L, "name", "description", ItemStatus.UNPROCESSED, "email@email.com", 0L))
+                .limit(5)
+                .toList();
+        when(itemService.findItemsVersion()).thenReturn(new ItemsVersion(5, 0, 5));
         when(itemService.findAll()).thenReturn(expectedItems);
 
         mvc.perform(get("/api/items"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"5-0-5\""));
     }
 
     @Test
-    void test_whenProcessItems_returns200() throws Exception {
-        var givenIds = List.of(1L, 2L, 3L, 4L);
-        var expectedItems = givenIds.stream().map(Item::new).toList();
+    void test_whenGetAllItems_collectionUnchanged_returns304WithoutLoadingItems() throws Exception {
+        when(itemService.findItemsVersion()).thenReturn(new ItemsVersion(5, 3, 5));
+
+        mvc.perform(get("/api/items").header("If-None-Match", "\"5-3-5\""))
+                .andExpect(status().isNotModified());
+
+        verify(itemService, never()).findAll();
+    }
+
+    @Test
+    void test_whenProcessItems_returnsProcessedNotProcessedAndCancelledItems() throws Exception {
+        var givenIds = List.of(1L, 2L, 3L, 4L, 5L);
+        var report = new ProcessingReport(
+                List.of(new Item(1L), new Item(2L), new Item(3L)),
+                List.of(new ItemFailure(4L, "Item with id: 4 not found")),
+                List.of(5L));
 
         when(itemService.findAllIds()).thenReturn(givenIds);
-        when(itemService.processItemsAsync(givenIds)).thenReturn(expectedItems);
+        when(itemService.processItems(eq(givenIds), isNull(), any())).thenReturn(CompletableFuture.completedFuture(report));
 
-        mvc.perform(get("/api/items"))
+        var result = mvc.perform(get("/api/items/process"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processedItems.length()").value(3))
+                .andExpect(jsonPath("$.notProcessedItems[0].id").value(4))
+                .andExpect(jsonPath("$.notProcessedItems[0].detail").value("Item with id: 4 not found"))
+                .andExpect(jsonPath("$.cancelledIds[0]").value(5));
+    }
+
+    @Test
+    void test_whenProcessItems_withDeadline_passesDeadlineToService() throws Exception {
+        when(itemService.findAllIds()).thenReturn(List.of());
+        when(itemService.processItems(eq(List.of()), eq(Duration.ofSeconds(5)), any()))
+                .thenReturn(CompletableFuture.completedFuture(new ProcessingReport(List.of(), List.of(), List.of())));
+
+        var result = mvc.perform(get("/api/items/process").param("deadline", "PT5S"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void test_whenStartProcessingJob_returns202AndJobLocation() throws Exception {
+        var givenIds = List.of(1L, 2L);
+        var job = new ProcessingJob(UUID.randomUUID(), givenIds.size(), Clock.systemUTC());
+
+        when(itemService.findAllIds()).thenReturn(givenIds);
+        when(itemService.startProcessingJob(givenIds)).thenReturn(job);
+
+        var result = mvc.perform(post("/api/items/process"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/items/process/%s".formatted(job.getId())))
+                .andReturn();
+
+        var response = ResponseFactory.create(result, ProcessingJobResponse.class, objectMapper);
+        assertEquals(ProcessingJob.State.RUNNING, response.state());
+        assertEquals(2, response.pending());
+    }
+
+    @Test
+    void test_whenGetProcessingJob_jobDoesNotExist_returns404() throws Exception {
+        var givenJobId = UUID.randomUUID();
+
+        when(itemService.findProcessingJob(givenJobId)).thenThrow(new EntityNotFoundException("not found"));
+
+        mvc.perform(get("/api/items/process/{jobId}", givenJobId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void test_whenGetProcessingJobResults_returnsRequestedPage() throws Exception {
+        var job = new ProcessingJob(UUID.randomUUID(), 3, Clock.systemUTC());
+        job.recordProcessed(new Item(1L));
+        job.recordProcessed(new Item(2L));
+        job.recordProcessed(new Item(3L));
+
+        when(itemService.findProcessingJob(job.getId())).thenReturn(job);
+
+        var result = mvc.perform(get("/api/items/process/{jobId}/results", job.getId())
+                        .param("page", "1")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        var response = ResponseFactory.create(result, ProcessingJobResultsResponse.class, objectMapper);
+        assertEquals(List.of(new Item(3L)), response.items());
+    }
+
+    @Test
+    void test_whenGetProcessingJobResults_invalidPageSize_returns400() throws Exception {
+        mvc.perform(get("/api/items/process/{jobId}/results", UUID.randomUUID()).param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void test_whenGetItemPage_returnsItemsAndNextCursor() throws Exception {
+        when(itemService.findPage("cursor", 2)).thenReturn(new ItemPage(List.of(new Item(3L), new Item(4L)), "next"));
+
+        mvc.perform(get("/api/items/page").param("cursor", "cursor").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void test_whenGetItemPage_invalidCursor_returns400() throws Exception {
+        when(itemService.findPage("invalid", 100)).thenThrow(new InvalidCursorException("invalid"));
+
+        mvc.perform(get("/api/items/page").param("cursor", "invalid"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void test_whenStreamItems_acceptNdjson_writesOneItemPerLine() throws Exception {
+        whenForEachItemThenVisit(new Item(1L), new Item(2L));
+
+        var result = mvc.perform(get("/api/items/stream").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var content = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        var lines = content.lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals(new Item(2L), objectMapper.readValue(lines.get(1), Item.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void test_whenExportItems_after_writesNdjsonFromThatId() throws Exception {
+        doAnswer(invocation -> {
+            Stream.of(new Item(3L), new Item(4L)).forEach(invocation.getArgument(1, Consumer.class));
+            return null;
+        }).when(itemService).forEachItem(eq(2L), any());
+
+        var result = mvc.perform(get("/api/items/export").param("after", "2"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        var content = mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"items.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(List.of(3L, 4L), content.lines().map(line -> readItem(line).getId()).toList());
+    }
+
+    @Test
+    void test_whenStreamItems_acceptJson_writesJsonArray() throws Exception {
+        whenForEachItemThenVisit(new Item(1L), new Item(2L));
+
+        var result = mvc.perform(get("/api/items/stream").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].id").value(2));
+    }
+
+    @Test
+    void test_whenGetItemStats_returnsCountsPerStatus() throws Exception {
+        when(itemService.getStats()).thenReturn(new ItemStats(3, 2, 5, Instant.parse("2025-01-01T00:00:00Z")));
+
+        mvc.perform(get("/api/items/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.unprocessed").value(3))
+                .andExpect(jsonPath("$.processed").value(2))
+                .andExpect(jsonPath("$.total").value(5));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void whenForEachItemThenVisit(Item... items) {
+        doAnswer(invocation -> {
+            Stream.of(items).forEach(invocation.getArgument(0, Consumer.class));
+            return null;
+        }).when(itemService).forEachItem(any());
+    }
+
+    @SneakyThrows
+    private Item readItem(String json) {
+        return objectMapper.readValue(json, Item.class);
+    }
+
     @SneakyThrows
     private String prepareRequestPayload(Object payload) {
         return objectMapper.writeValueAsString(payload);
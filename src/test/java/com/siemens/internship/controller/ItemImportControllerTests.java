@@ -0,0 +1,112 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.service.ItemService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "items.imports.chunk-size=2")
+@AutoConfigureMockMvc
+public class ItemImportControllerTests {
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    void test_whenImportGzippedExport_createsEveryItemAgain() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            itemService.save(new Item("name" + i, "description", "email@email.com"));
+        }
+        var export = export();
+        itemRepository.deleteAll();
+        var importId = UUID.randomUUID().toString();
+
+        mvc.perform(post("/api/items/import")
+                        .param("importId", importId)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(gzip(export)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importId").value(importId))
+                .andExpect(jsonPath("$.committedLines").value(5))
+                .andExpect(jsonPath("$.imported").value(5))
+                .andExpect(jsonPath("$.completed").value(true));
+
+        assertEquals(5, itemRepository.count());
+        mvc.perform(get("/api/items/import/{importId}", importId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(5));
+    }
+
+    @Test
+    void test_whenImport_invalidLine_returnsItsNumber() throws Exception {
+        mvc.perform(post("/api/items/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"name\",\"description\":\"description\"}\n{\"name\":\"\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+    }
+
+    @Test
+    void test_whenImport_importIdTooLong_returns400() throws Exception {
+        mvc.perform(post("/api/items/import")
+                        .param("importId", "x".repeat(65))
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void test_whenGetImport_unknown_returns404() throws Exception {
+        mvc.perform(get("/api/items/import/{importId}", "unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    private String export() throws Exception {
+        var result = mvc.perform(get("/api/items/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+        return result.getResponse().getContentAsString();
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
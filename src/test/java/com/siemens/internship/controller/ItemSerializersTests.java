@@ -0,0 +1,47 @@
+package com.siemens.internship.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemSummary;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ItemSerializersTests {
+    private final ObjectMapper beanMapper = new ObjectMapper();
+    private final ObjectMapper jsonMapper = new ObjectMapper().registerModule(itemSerializers());
+    private final ObjectMapper cborMapper = new CBORMapper().registerModule(itemSerializers());
+
+    @Test
+    void test_serializeJson_writesWhatTheBeanSerializerWrites() throws Exception {
+        var item = new Item(1L, "name", "description", ItemStatus.PROCESSED, "email@email.com");
+        item.setVersion(3L);
+        var itemWithNulls = new Item(2L);
+
+        assertEquals(beanMapper.writeValueAsString(item), jsonMapper.writeValueAsString(item));
+        assertEquals(beanMapper.writeValueAsString(itemWithNulls), jsonMapper.writeValueAsString(itemWithNulls));
+        assertEquals(beanMapper.writeValueAsString(item), jsonMapper.writeValueAsString(
+                new ItemSummary(1L, "name", "description", ItemStatus.PROCESSED, "email@email.com", 3L)));
+    }
+
+    @Test
+    void test_serializeCbor_writesStatusOrdinalAndReadsItBack() throws Exception {
+        var item = new Item(1L, "name", "description", ItemStatus.UNPROCESSED, "email@email.com");
+
+        var bytes = cborMapper.writeValueAsBytes(item);
+
+        assertEquals(ItemStatus.UNPROCESSED.ordinal(), cborMapper.readValue(bytes, Map.class).get("status"));
+        assertEquals(item, cborMapper.readValue(bytes, Item.class));
+    }
+
+    private static SimpleModule itemSerializers() {
+        return new SimpleModule()
+                .addSerializer(new ItemSerializers.ItemSerializer())
+                .addSerializer(new ItemSerializers.ItemSummarySerializer());
+    }
+}
@@ -0,0 +1,58 @@
+package com.siemens.internship.controller;
+
+import com.siemens.internship.service.ProcessingScheduler;
+import com.siemens.internship.service.SchedulerStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ProcessingSchedulerController.class)
+public class ProcessingSchedulerControllerTests {
+    @Autowired
+    MockMvc mvc;
+
+    @MockBean
+    ProcessingScheduler processingScheduler;
+
+    @Test
+    void test_whenGetStatus_returnsBatchSizeAndThroughput() throws Exception {
+        when(processingScheduler.getStatus()).thenReturn(new SchedulerStatus(true, 150, 42.5, 1000));
+
+        mvc.perform(get("/api/items/scheduler"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.running").value(true))
+                .andExpect(jsonPath("$.batchSize").value(150))
+                .andExpect(jsonPath("$.throughput").value(42.5));
+    }
+
+    @Test
+    void test_whenStart_startsScheduler() throws Exception {
+        when(processingScheduler.getStatus()).thenReturn(new SchedulerStatus(true, 100, 0, 0));
+
+        mvc.perform(post("/api/items/scheduler/start"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.running").value(true));
+
+        verify(processingScheduler).start();
+    }
+
+    @Test
+    void test_whenStop_stopsScheduler() throws Exception {
+        when(processingScheduler.getStatus()).thenReturn(new SchedulerStatus(false, 100, 0, 0));
+
+        mvc.perform(post("/api/items/scheduler/stop"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.running").value(false));
+
+        verify(processingScheduler).stop();
+    }
+}
@@ -0,0 +1,117 @@
+package com.siemens.internship.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class WireFormatTests {
+    private static final TypeReference<List<Map<String, Object>>> ITEM_LIST = new TypeReference<>() {
+    };
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+        itemRepository.saveAll(IntStream.range(0, 100)
+                .mapToObj(i -> new Item("name" + i, "description" + i, "email" + i + "@email.com"))
+                .toList());
+    }
+
+    @Test
+    void test_getItems_cbor_returnsCborWithStatusOrdinals() throws Exception {
+        var response = get("/api/items", "application/cbor", null);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("application/cbor", response.headers().firstValue(HttpHeaders.CONTENT_TYPE).orElseThrow());
+        var items = new CBORMapper().readValue(response.body(), ITEM_LIST);
+        assertEquals(100, items.size());
+        assertEquals(ItemStatus.UNPROCESSED.ordinal(), items.get(0).get("status"));
+        assertEquals("name0", items.get(0).get("name"));
+    }
+
+    @Test
+    void test_getItems_smile_returnsSmileWithStatusOrdinals() throws Exception {
+        var response = get("/api/items", "application/x-jackson-smile", null);
+
+        assertEquals(200, response.statusCode());
+        var items = new SmileMapper().readValue(response.body(), ITEM_LIST);
+        assertEquals(100, items.size());
+        assertEquals(ItemStatus.UNPROCESSED.ordinal(), items.get(0).get("status"));
+    }
+
+    @Test
+    void test_getItems_json_isUnchanged() throws Exception {
+        var response = get("/api/items", "application/json", null);
+
+        var items = new ObjectMapper().readValue(response.body(), ITEM_LIST);
+        assertEquals("UNPROCESSED", items.get(0).get("status"));
+        assertEquals(List.of("id", "name", "description", "status", "email", "version"), List.copyOf(items.get(0).keySet()));
+    }
+
+    @Test
+    void test_getItems_acceptGzip_compressesLargeResponses() throws Exception {
+        var plain = get("/api/items", "application/cbor", null);
+        var compressed = get("/api/items", "application/cbor", "gzip");
+
+        assertEquals("gzip", compressed.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElseThrow());
+        assertTrue(compressed.body().length < plain.body().length);
+        try (var body = new GZIPInputStream(new ByteArrayInputStream(compressed.body()))) {
+            assertArrayEquals(plain.body(), body.readAllBytes());
+        }
+    }
+
+    @Test
+    void test_createItem_cborBody_isAccepted() throws Exception {
+        var body = new CBORMapper().writeValueAsBytes(Map.of(
+                "name", "name", "description", "description", "email", "email@email.com"));
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:%d/api/items".formatted(port)))
+                .header(HttpHeaders.CONTENT_TYPE, "application/cbor")
+                .header(HttpHeaders.ACCEPT, "application/cbor")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+
+        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(201, response.statusCode());
+        assertEquals("name", new CBORMapper().readValue(response.body(), Item.class).getName());
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, String acceptEncoding) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:%d%s".formatted(port, path)))
+                .header(HttpHeaders.ACCEPT, accept);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,58 @@
+package com.siemens.internship.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ItemSchemaTests {
+    @Autowired
+    Flyway flyway;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void test_migrations_areAllApplied() {
+        var info = flyway.info();
+
+        assertEquals(0, info.pending().length);
+        assertEquals("4", info.current().getVersion().getVersion());
+    }
+
+    @Test
+    void test_unprocessedLookup_usesStatusIndex() {
+        var plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT id FROM item WHERE status = 'UNPROCESSED' ORDER BY id LIMIT 100", String.class);
+
+        assertTrue(plan.contains("ITEM_STATUS_ID_IDX"), plan);
+    }
+
+    // the schema ddl-auto created before the migrations, with identity ids and without the later columns
+    @Test
+    void test_migrations_adoptSchemaCreatedByHibernate() {
+        var url = "jdbc:h2:mem:hibernate-schema;DB_CLOSE_DELAY=-1";
+        var database = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        database.execute("CREATE TABLE item (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "name VARCHAR(255), description VARCHAR(255), status VARCHAR(255), email VARCHAR(255))");
+        database.update("INSERT INTO item (name, status) VALUES ('first', 'UNPROCESSED'), ('second', 'PROCESSED')");
+
+        var result = Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .dataSource(url, "sa", "")
+                .load()
+                .migrate();
+
+        assertEquals("4", result.targetSchemaVersion);
+        assertEquals(0, database.queryForObject("SELECT COUNT(*) FROM item WHERE version IS NULL", Integer.class));
+        assertTrue(database.queryForObject("SELECT NEXT VALUE FOR item_seq", Long.class) > 2 + 49);
+        var plan = database.queryForObject(
+                "EXPLAIN SELECT id FROM item WHERE status = 'UNPROCESSED' ORDER BY id LIMIT 100", String.class);
+        assertTrue(plan.contains("ITEM_STATUS_ID_IDX"), plan);
+    }
+}
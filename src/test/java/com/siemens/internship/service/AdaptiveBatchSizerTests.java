@@ -0,0 +1,49 @@
+package com.siemens.internship.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AdaptiveBatchSizerTests {
+    private static final Duration TARGET = Duration.ofSeconds(1);
+
+    @Test
+    void test_onBatchCompleted_withinTarget_growsAdditivelyUpToMax() {
+        var sizer = new AdaptiveBatchSizer(100, 10, 220, 50, TARGET);
+
+        sizer.onBatchCompleted(Duration.ofMillis(500), false);
+        assertEquals(150, sizer.size());
+
+        sizer.onBatchCompleted(Duration.ofMillis(500), false);
+        sizer.onBatchCompleted(Duration.ofMillis(500), false);
+        assertEquals(220, sizer.size());
+    }
+
+    @Test
+    void test_onBatchCompleted_overTarget_halvesDownToMin() {
+        var sizer = new AdaptiveBatchSizer(100, 30, 1000, 50, TARGET);
+
+        sizer.onBatchCompleted(Duration.ofSeconds(2), false);
+        assertEquals(50, sizer.size());
+
+        sizer.onBatchCompleted(Duration.ofSeconds(2), false);
+        assertEquals(30, sizer.size());
+    }
+
+    @Test
+    void test_onBatchCompleted_rejected_halvesEvenWithinTarget() {
+        var sizer = new AdaptiveBatchSizer(100, 10, 1000, 50, TARGET);
+
+        sizer.onBatchCompleted(Duration.ofMillis(10), true);
+
+        assertEquals(50, sizer.size());
+    }
+
+    @Test
+    void test_initialSize_isClampedToBounds() {
+        assertEquals(10, new AdaptiveBatchSizer(1, 10, 100, 5, TARGET).size());
+        assertEquals(100, new AdaptiveBatchSizer(1000, 10, 100, 5, TARGET).size());
+    }
+}
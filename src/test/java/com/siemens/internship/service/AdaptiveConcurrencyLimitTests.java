@@ -0,0 +1,130 @@
+package com.siemens.internship.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimitTests {
+    private static final long BASE_RTT = Duration.ofMillis(10).toNanos();
+
+    @Test
+    void test_tryAcquire_atLimit_refusesUntilACallCompletes() {
+        var limit = createLimit(2, 100, 10);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.onIgnored();
+        assertTrue(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    void test_onSample_noQueueAndFullyUsed_grows() {
+        var limit = createLimit(8, 100, 8);
+
+        runWindow(limit, 8, BASE_RTT);
+        assertEquals(9, limit.getLimit());
+
+        runWindow(limit, 8, BASE_RTT);
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void test_onSample_latencyDoubles_shrinks() {
+        var limit = createLimit(20, 100, 10);
+
+        runWindow(limit, 10, BASE_RTT);
+        assertEquals(21, limit.getLimit());
+
+        // half of the 21 calls are estimated to wait, more than 6 * log10(21)
+        runWindow(limit, 10, 2 * BASE_RTT);
+        assertEquals(19, limit.getLimit());
+    }
+
+    @Test
+    void test_onSample_fewPermitsUsed_doesNotGrow() {
+        var limit = createLimit(20, 100, 4);
+
+        runWindow(limit, 4, BASE_RTT);
+        runWindow(limit, 4, BASE_RTT);
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void test_onSample_staysWithinBounds() {
+        var limit = new AdaptiveConcurrencyLimit(8, 7, 9, 1.0, 3, 6, 5, 1000);
+
+        runWindow(limit, 5, BASE_RTT);
+        runWindow(limit, 5, BASE_RTT);
+        assertEquals(9, limit.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            runWindow(limit, 5, 10 * BASE_RTT);
+        }
+        assertEquals(7, limit.getLimit());
+    }
+
+    /**
+     * A load generator against a simulated server that works on 8 calls at once, every call above that waits and makes
+     * the latency grow with the queue. After a quiet phase with 4 clients a spike of 64 clients comes in, the limit
+     * starts far above the server's capacity and has to find it, the calls over it are refused instead of queueing.
+     */
+    @Test
+    void test_overload_limitSettlesNearCapacityAndShedsTheRest() {
+        var server = new SimulatedServer(8);
+        var limit = new AdaptiveConcurrencyLimit(50, 1, 200, 1.0, 3, 6, 8, 1000);
+
+        server.run(limit, 4, 50);
+        assertEquals(0, server.rejected);
+        assertEquals(50, limit.getLimit());
+
+        server.run(limit, 64, 300);
+        assertTrue(limit.getLimit() >= 8 && limit.getLimit() <= 16, "limit " + limit.getLimit());
+        assertTrue(server.lastRtt <= 2 * BASE_RTT, "latency " + Duration.ofNanos(server.lastRtt));
+        assertTrue(server.rejected > 0);
+    }
+
+    private static class SimulatedServer {
+        private final int capacity;
+        private long rejected;
+        private long lastRtt;
+
+        SimulatedServer(int capacity) {
+            this.capacity = capacity;
+        }
+
+        // every round the clients send one call each and the admitted ones complete together
+        void run(AdaptiveConcurrencyLimit limit, int clients, int rounds) {
+            for (int round = 0; round < rounds; round++) {
+                int admitted = 0;
+                while (admitted < clients && limit.tryAcquire()) {
+                    admitted++;
+                }
+                rejected += clients - admitted;
+
+                lastRtt = BASE_RTT * Math.max(capacity, admitted) / capacity;
+                for (int i = 0; i < admitted; i++) {
+                    limit.onSample(lastRtt);
+                }
+            }
+        }
+    }
+
+    private static AdaptiveConcurrencyLimit createLimit(int initialLimit, int maxLimit, int windowSize) {
+        return new AdaptiveConcurrencyLimit(initialLimit, 1, maxLimit, 1.0, 3, 6, windowSize, 1000);
+    }
+
+    private static void runWindow(AdaptiveConcurrencyLimit limit, int calls, long rttNanos) {
+        for (int i = 0; i < calls; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        for (int i = 0; i < calls; i++) {
+            limit.onSample(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.siemens.internship.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedLineReaderTests {
+
+    @Test
+    void test_readLine_splitsOnNewlinesAndCarriageReturns() throws IOException {
+        var reader = new BoundedLineReader(new StringReader("first\r\n\nsecond\nlast"), 10);
+        List<String> lines = new ArrayList<>();
+
+        for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+            lines.add(line);
+            assertFalse(reader.isTruncated());
+        }
+
+        assertEquals(List.of("first", "", "second", "last"), lines);
+    }
+
+    @Test
+    void test_readLine_longLine_isTruncatedAndTheNextLineIsIntact() throws IOException {
+        var reader = new BoundedLineReader(new StringReader("x".repeat(20_000) + "\nabcde\r\nnext"), 5);
+
+        assertEquals("xxxxx", reader.readLine());
+        assertTrue(reader.isTruncated());
+        assertEquals("abcde", reader.readLine());
+        assertFalse(reader.isTruncated());
+        assertEquals("next", reader.readLine());
+        assertNull(reader.readLine());
+    }
+}
@@ -0,0 +1,62 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "items.processing.bulk-chunk-size=2")
+public class BulkItemProcessorTests {
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    BulkItemProcessor bulkItemProcessor;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    void test_process_updatesOnlyUnprocessedItemsAcrossChunks() {
+        var unprocessed = itemRepository.saveAll(Stream.generate(() -> new Item("name", "description", "email@email.com"))
+                .limit(5)
+                .toList());
+        var alreadyProcessed = new Item("name", "description", "email@email.com");
+        alreadyProcessed.setStatus(ItemStatus.PROCESSED);
+        alreadyProcessed = itemRepository.save(alreadyProcessed);
+
+        var givenIds = Stream.concat(unprocessed.stream(), Stream.of(alreadyProcessed))
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        givenIds.add(-1L);
+
+        var processedItems = bulkItemProcessor.process(givenIds);
+
+        var expectedIds = unprocessed.stream().map(Item::getId).collect(Collectors.toSet());
+        assertEquals(expectedIds, processedItems.stream().map(Item::getId).collect(Collectors.toSet()));
+        assertTrue(processedItems.stream().allMatch(item -> item.getStatus() == ItemStatus.PROCESSED));
+        assertTrue(itemRepository.findAllIds().isEmpty());
+    }
+
+    @Test
+    void test_process_secondRunOnSameIds_returnsNothing() {
+        var items = itemRepository.saveAll(List.of(new Item("name", "description", "email@email.com")));
+        var givenIds = items.stream().map(Item::getId).toList();
+
+        bulkItemProcessor.process(givenIds);
+
+        assertTrue(bulkItemProcessor.process(givenIds).isEmpty());
+    }
+}
@@ -0,0 +1,53 @@
+package com.siemens.internship.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "items.bulkheads.interactive.max-concurrent-calls=3",
+        "items.bulkheads.processing.max-concurrent-calls=4",
+        "items.processing.executor.core-pool-size=4",
+        "items.processing.executor.max-pool-size=4"
+})
+public class BulkheadsTests {
+    @Autowired
+    Bulkheads bulkheads;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    Executor taskExecutor;
+
+    @AfterEach
+    void tearDown() {
+        bulkheads.resize(Bulkheads.INTERACTIVE, 3, null);
+        bulkheads.resize(Bulkheads.PROCESSING, 4, 4);
+    }
+
+    @Test
+    void test_resize_processing_resizesBudgetAndExecutor() {
+        var status = bulkheads.resize(Bulkheads.PROCESSING, 8, 12);
+
+        assertEquals(new BulkheadStatus(Bulkheads.PROCESSING, 8, 8, 12), status);
+        var pool = ((ThreadPoolTaskExecutor) taskExecutor).getThreadPoolExecutor();
+        assertEquals(12, pool.getCorePoolSize());
+        assertEquals(12, pool.getMaximumPoolSize());
+
+        bulkheads.resize(Bulkheads.PROCESSING, null, 2);
+        assertEquals(2, pool.getCorePoolSize());
+        assertEquals(2, pool.getMaximumPoolSize());
+    }
+
+    @Test
+    void test_resize_interactiveThreads_throws() {
+        assertThrows(BulkheadResizeException.class, () -> bulkheads.resize(Bulkheads.INTERACTIVE, null, 5));
+        assertNull(bulkheads.getStatus(Bulkheads.INTERACTIVE).threads());
+    }
+}
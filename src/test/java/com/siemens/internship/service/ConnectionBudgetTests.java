@@ -0,0 +1,61 @@
+package com.siemens.internship.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionBudgetTests {
+
+    @Test
+    void test_tryAcquire_budgetExhausted_returnsFalseAfterWaiting() {
+        var budget = new ConnectionBudget("test", 1);
+        assertTrue(budget.tryAcquire(Duration.ZERO));
+
+        long start = System.nanoTime();
+        assertFalse(budget.tryAcquire(Duration.ofMillis(50)));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 50);
+
+        budget.release();
+        assertTrue(budget.tryAcquire(Duration.ZERO));
+    }
+
+    @Test
+    void test_resize_grow_letsMoreCallsIn() {
+        var budget = new ConnectionBudget("test", 1);
+        assertTrue(budget.tryAcquire(Duration.ZERO));
+
+        budget.resize(3);
+
+        assertEquals(3, budget.getSize());
+        assertTrue(budget.tryAcquire(Duration.ZERO));
+        assertTrue(budget.tryAcquire(Duration.ZERO));
+        assertFalse(budget.tryAcquire(Duration.ZERO));
+    }
+
+    @Test
+    void test_resize_shrinkWhileInUse_takesEffectAsCallsFinish() {
+        var budget = new ConnectionBudget("test", 3);
+        assertTrue(budget.tryAcquire(Duration.ZERO));
+        assertTrue(budget.tryAcquire(Duration.ZERO));
+        assertTrue(budget.tryAcquire(Duration.ZERO));
+
+        budget.resize(1);
+        assertEquals(-2, budget.getAvailable());
+
+        budget.release();
+        budget.release();
+        assertFalse(budget.tryAcquire(Duration.ZERO));
+        budget.release();
+        assertTrue(budget.tryAcquire(Duration.ZERO));
+    }
+
+    @Test
+    void test_resize_belowOne_throws() {
+        var budget = new ConnectionBudget("test", 1);
+
+        assertThrows(IllegalArgumentException.class, () -> budget.resize(0));
+        assertEquals(1, budget.getSize());
+    }
+}
@@ -0,0 +1,117 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "items.batch.max-size=200",
+        "items.batch.flush-size=100"
+})
+public class ItemBatchServiceTests {
+    @Autowired
+    ItemBatchService itemBatchService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void test_createAll_persistsItemsInJdbcBatches() {
+        var items = IntStream.range(0, 100)
+                .mapToObj(i -> new Item("name" + i, "description", "email@email.com"))
+                .toList();
+
+        var result = itemBatchService.createAll(items);
+
+        assertEquals(100, result.items().size());
+        assertEquals(100, itemRepository.count());
+        assertEquals(100, statistics.getEntityInsertCount());
+        // 2 insert batches of 50 and 2 pooled sequence calls instead of 100 inserts and 100 identity reads
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "prepared %d statements".formatted(statistics.getPrepareStatementCount()));
+    }
+
+    @Test
+    void test_createAll_invalidElements_areReportedByIndexAndValidOnesPersisted() {
+        var items = List.of(
+                new Item("name", "description", "email@email.com"),
+                new Item("", "description", "email@email.com"),
+                new Item("name", "description", "invalid-email"));
+
+        var result = itemBatchService.createAll(items);
+
+        assertEquals(1, result.items().size());
+        assertEquals(List.of(1, 2), result.errors().stream().map(BatchError::index).toList());
+        assertEquals(Set.of("invalid email format"), result.errors().get(1).details());
+        assertEquals(1, itemRepository.count());
+    }
+
+    @Test
+    void test_createAll_ignoresGivenIdAndStatus() {
+        var item = new Item(12345L, "name", "description", ItemStatus.PROCESSED, "email@email.com");
+
+        var created = itemBatchService.createAll(List.of(item)).items().get(0);
+
+        assertNotEquals(12345L, created.getId());
+        assertEquals(ItemStatus.UNPROCESSED, itemRepository.findById(created.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void test_createAll_tooManyItems_throwsBatchTooLargeException() {
+        var items = IntStream.range(0, 201)
+                .mapToObj(i -> new Item("name", "description", "email@email.com"))
+                .toList();
+
+        assertThrows(BatchTooLargeException.class, () -> itemBatchService.createAll(items));
+        assertEquals(0, itemRepository.count());
+    }
+
+    @Test
+    void test_updateAll_updatesExistingItemsAndReportsMissingAndDuplicateIds() {
+        var first = itemRepository.save(new Item("first", "description", "email@email.com"));
+        var second = itemRepository.save(new Item("second", "description", "email@email.com"));
+
+        var result = itemBatchService.updateAll(List.of(
+                new Item(first.getId(), "first-updated", "description", null, "email@email.com"),
+                new Item(second.getId(), "second-updated", "description", ItemStatus.PROCESSED, "email@email.com"),
+                new Item(first.getId(), "duplicate", "description", null, "email@email.com"),
+                new Item(-1L, "missing", "description", null, "email@email.com"),
+                new Item(null, "no-id", "description", null, "email@email.com")));
+
+        assertEquals(2, result.items().size());
+        assertEquals(List.of(2, 3, 4), result.errors().stream().map(BatchError::index).toList());
+
+        var updatedFirst = itemRepository.findById(first.getId()).orElseThrow();
+        var updatedSecond = itemRepository.findById(second.getId()).orElseThrow();
+        assertEquals("first-updated", updatedFirst.getName());
+        assertEquals(ItemStatus.UNPROCESSED, updatedFirst.getStatus());
+        assertEquals("second-updated", updatedSecond.getName());
+        assertEquals(ItemStatus.PROCESSED, updatedSecond.getStatus());
+    }
+}
@@ -0,0 +1,112 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemCacheProperties;
+import com.siemens.internship.model.Item;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ItemCacheTests {
+    private final AtomicLong nanos = new AtomicLong();
+    private final ItemCache itemCache = new ItemCache(
+            new ItemCacheProperties(100, Duration.ofMinutes(5), Duration.ofSeconds(30)),
+            nanos::get);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void test_get_secondRead_isServedFromCache() {
+        itemCache.get(1L, this::load);
+        itemCache.get(1L, this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(new ItemCacheStats(1, 1, 0, 1), itemCache.stats());
+    }
+
+    @Test
+    void test_get_missingId_isCachedForTheNegativeTtl() {
+        itemCache.get(1L, id -> loadMissing());
+        itemCache.get(1L, id -> loadMissing());
+        assertEquals(1, loads.get());
+
+        advance(Duration.ofSeconds(31));
+
+        assertTrue(itemCache.get(1L, id -> loadMissing()).isEmpty());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void test_get_foundItem_expiresAfterTtl() {
+        itemCache.get(1L, this::load);
+
+        advance(Duration.ofMinutes(4));
+        itemCache.get(1L, this::load);
+        assertEquals(1, loads.get());
+
+        advance(Duration.ofMinutes(2));
+        itemCache.get(1L, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void test_invalidate_nextReadLoadsAgain() {
+        itemCache.get(1L, this::load);
+
+        itemCache.invalidateAfterCommit(1L);
+        itemCache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @SneakyThrows
+    void test_invalidateDuringLoad_staleValueIsNotKept() {
+        var loadStarted = new CountDownLatch(1);
+        var releaseLoad = new CountDownLatch(1);
+        var staleItem = new Item(1L, "stale", "stale", null, "stale@email.com");
+        var freshItem = new Item(1L, "fresh", "fresh", null, "fresh@email.com");
+
+        var reader = new Thread(() -> itemCache.get(1L, id -> {
+            loadStarted.countDown();
+            await(releaseLoad);
+            return Optional.of(staleItem);
+        }));
+        reader.start();
+        loadStarted.await();
+
+        // the writer committed while the reader was loading the old row
+        var writer = new Thread(() -> itemCache.invalidate(1L));
+        writer.start();
+        releaseLoad.countDown();
+        reader.join();
+        writer.join();
+
+        assertEquals(freshItem, itemCache.get(1L, id -> Optional.of(freshItem)).orElseThrow());
+    }
+
+    private Optional<Item> load(long id) {
+        loads.incrementAndGet();
+        return Optional.of(new Item(id));
+    }
+
+    private Optional<Item> loadMissing() {
+        loads.incrementAndGet();
+        return Optional.empty();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @SneakyThrows
+    private static void await(CountDownLatch latch) {
+        latch.await();
+    }
+}
@@ -0,0 +1,108 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.utils.MutableClock;
+import com.siemens.internship.utils.PropertiesFactory;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemChangeFeedTests {
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+
+    @Test
+    void test_changesSince_head_returnsFollowingChangesInOrder() {
+        var feed = createFeed(10);
+        long head = feed.head();
+
+        feed.recordCreated(1, ItemStatus.UNPROCESSED);
+        feed.recordUpdated(1, ItemStatus.UNPROCESSED);
+        feed.recordStatusChanged(List.of(1L, 2L), ItemStatus.PROCESSED);
+        feed.recordDeleted(2);
+
+        var changes = feed.changesSince(head, 100);
+
+        assertEquals(List.of(ItemChangeType.CREATED, ItemChangeType.UPDATED, ItemChangeType.STATUS_CHANGED,
+                        ItemChangeType.STATUS_CHANGED, ItemChangeType.DELETED),
+                changes.changes().stream().map(ItemChange::type).toList());
+        assertEquals(List.of(head + 1, head + 2, head + 3, head + 4, head + 5),
+                changes.changes().stream().map(ItemChange::sequence).toList());
+        assertNull(changes.changes().get(4).status());
+        assertEquals(head + 5, changes.nextSince());
+        assertEquals(feed.head(), changes.nextSince());
+        assertFalse(changes.hasMore());
+    }
+
+    @Test
+    void test_changesSince_limit_returnsPagesUntilHead() {
+        var feed = createFeed(10);
+        long head = feed.head();
+        for (long id = 1; id <= 5; id++) {
+            feed.recordCreated(id, ItemStatus.UNPROCESSED);
+        }
+
+        var first = feed.changesSince(head, 3);
+        var second = feed.changesSince(first.nextSince(), 3);
+        var third = feed.changesSince(second.nextSince(), 3);
+
+        assertEquals(List.of(1L, 2L, 3L), first.changes().stream().map(ItemChange::itemId).toList());
+        assertTrue(first.hasMore());
+        assertEquals(List.of(4L, 5L), second.changes().stream().map(ItemChange::itemId).toList());
+        assertFalse(second.hasMore());
+        assertTrue(third.changes().isEmpty());
+        assertEquals(second.nextSince(), third.nextSince());
+    }
+
+    @Test
+    void test_changesSince_cursorOlderThanRetention_throwsExpired() {
+        var feed = createFeed(3);
+        long head = feed.head();
+        for (long id = 1; id <= 5; id++) {
+            feed.recordCreated(id, ItemStatus.UNPROCESSED);
+        }
+
+        assertThrows(ChangeFeedExpiredException.class, () -> feed.changesSince(head, 100));
+        assertThrows(ChangeFeedExpiredException.class, () -> feed.changesSince(head + 1, 100));
+
+        var retained = feed.changesSince(head + 2, 100);
+        assertEquals(List.of(3L, 4L, 5L), retained.changes().stream().map(ItemChange::itemId).toList());
+    }
+
+    @Test
+    void test_changesSince_cursorOfAnotherRun_throwsExpired() {
+        var previousRun = createFeed(10);
+        previousRun.recordCreated(1, ItemStatus.UNPROCESSED);
+        previousRun.recordCreated(2, ItemStatus.UNPROCESSED);
+        long previousCursor = previousRun.head();
+
+        clock.advance(Duration.ofMinutes(1));
+        var feed = createFeed(10);
+        feed.recordCreated(3, ItemStatus.UNPROCESSED);
+
+        assertThrows(ChangeFeedExpiredException.class, () -> feed.changesSince(previousCursor, 100));
+        assertThrows(ChangeFeedExpiredException.class, () -> feed.changesSince(feed.head() + 1, 100));
+    }
+
+    @Test
+    void test_record_notifiesListeners() {
+        var feed = createFeed(10);
+        var notifications = new AtomicInteger();
+        feed.addListener(notifications::incrementAndGet);
+
+        feed.recordCreated(1, ItemStatus.UNPROCESSED);
+        feed.recordStatusChanged(List.of(), ItemStatus.PROCESSED);
+
+        assertEquals(1, notifications.get());
+    }
+
+    private ItemChangeFeed createFeed(int retention) {
+        var properties = PropertiesFactory.changes(Map.of("items.changes.retention", String.valueOf(retention)));
+        return new ItemChangeFeed(properties, clock);
+    }
+}
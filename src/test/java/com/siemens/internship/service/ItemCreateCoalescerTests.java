@@ -0,0 +1,184 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemBatchProperties;
+import com.siemens.internship.config.ItemGroupCommitProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// a long max-wait, so that creates submitted one after the other land in the same group
+@SpringBootTest(properties = {
+        "items.group-commit.enabled=true",
+        "items.group-commit.max-batch-size=10",
+        "items.group-commit.max-wait=200ms"
+})
+public class ItemCreateCoalescerTests {
+    @Autowired
+    ItemCreateCoalescer createCoalescer;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    void test_submit_concurrentCreates_areCommittedTogether() throws Exception {
+        long groupsBefore = committedGroups();
+
+        var results = IntStream.range(0, 5)
+                .mapToObj(i -> createCoalescer.submit(new Item("name" + i, "description", "email@email.com")))
+                .toList();
+
+        for (int i = 0; i < results.size(); i++) {
+            var item = results.get(i).get(5, TimeUnit.SECONDS);
+            assertNotNull(item.getId());
+            assertEquals("name" + i, item.getName());
+            assertEquals(ItemStatus.UNPROCESSED, item.getStatus());
+            assertEquals(0L, item.getVersion());
+        }
+        assertEquals(5, itemRepository.count());
+        assertEquals(groupsBefore + 1, committedGroups());
+    }
+
+    @Test
+    void test_submit_moreThanMaxBatchSize_isSplitIntoGroups() {
+        long groupsBefore = committedGroups();
+
+        var results = IntStream.range(0, 12)
+                .mapToObj(i -> createCoalescer.submit(new Item("name", "description", "email@email.com")))
+                .toList();
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(12, itemRepository.count());
+        assertEquals(groupsBefore + 2, committedGroups());
+    }
+
+    @Test
+    void test_submit_invalidItem_failsAlone() throws Exception {
+        var results = submitAll(List.of(
+                new Item("name", "description", "email@email.com"),
+                new Item("", "description", "email@email.com"),
+                new Item("name", "description", "email@email.com")));
+
+        var e = assertThrows(ExecutionException.class, () -> results.get(1).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        assertEquals("name must not be empty", e.getCause().getMessage());
+
+        assertNotNull(results.get(0).get(5, TimeUnit.SECONDS).getId());
+        assertNotNull(results.get(2).get(5, TimeUnit.SECONDS).getId());
+        assertEquals(2, itemRepository.count());
+    }
+
+    @Test
+    void test_submit_rowRejectedByDatabase_failsAloneAndTheGroupIsRetriedOneByOne() throws Exception {
+        var results = submitAll(List.of(
+                new Item("name", "description", "email@email.com"),
+                new Item("x".repeat(300), "description", "email@email.com"),
+                new Item("name", "description", "email@email.com")));
+
+        assertThrows(ExecutionException.class, () -> results.get(1).get(5, TimeUnit.SECONDS));
+
+        var first = results.get(0).get(5, TimeUnit.SECONDS);
+        var third = results.get(2).get(5, TimeUnit.SECONDS);
+        assertNotEquals(first.getId(), third.getId());
+        assertEquals(2, itemRepository.count());
+        assertTrue(itemRepository.findById(first.getId()).isPresent());
+    }
+
+    @Test
+    void test_create_groupNotCommittedInTime_isUnavailable() throws Exception {
+        var itemBatchService = mock(ItemBatchService.class);
+        var commitStarted = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        when(itemBatchService.createAll(anyList())).thenAnswer(invocation -> {
+            commitStarted.countDown();
+            release.await();
+            return new BatchResult(invocation.getArgument(0), List.of());
+        });
+        var coalescer = standalone(itemBatchService);
+
+        try {
+            var e = assertThrows(GroupCommitUnavailableException.class,
+                    () -> coalescer.create(new Item("name", "description", "email@email.com")));
+            assertTrue(commitStarted.await(5, TimeUnit.SECONDS));
+            assertEquals("The create was not committed within 100 ms, try again later", e.getMessage());
+        } finally {
+            release.countDown();
+            coalescer.stop();
+        }
+    }
+
+    @Test
+    void test_submit_errorWhileCommitting_failsTheGroupAndTheCommitterGoesOn() throws Exception {
+        var itemBatchService = mock(ItemBatchService.class);
+        var created = new Item("name", "description", "email@email.com");
+        created.setId(1L);
+        when(itemBatchService.createAll(anyList()))
+                .thenThrow(new StackOverflowError())
+                .thenReturn(new BatchResult(List.of(created), List.of()));
+        var coalescer = standalone(itemBatchService);
+
+        try {
+            var failed = coalescer.submit(new Item("name", "description", "email@email.com"));
+            var e = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, e.getCause());
+
+            var next = coalescer.submit(new Item("name", "description", "email@email.com"));
+            assertEquals(1L, next.get(5, TimeUnit.SECONDS).getId());
+        } finally {
+            coalescer.stop();
+        }
+    }
+
+    @Test
+    void test_submit_afterStop_failsRightAway() throws Exception {
+        var coalescer = standalone(mock(ItemBatchService.class));
+        coalescer.stop();
+
+        var result = coalescer.submit(new Item("name", "description", "email@email.com"));
+
+        var e = assertThrows(ExecutionException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(GroupCommitUnavailableException.class, e.getCause());
+    }
+
+    // its own committer over a mocked batch service, stopped by the test
+    private static ItemCreateCoalescer standalone(ItemBatchService itemBatchService) {
+        return new ItemCreateCoalescer(itemBatchService,
+                new ItemGroupCommitProperties(true, 10, Duration.ZERO, Duration.ofMillis(100)),
+                new ItemBatchProperties(1000, 500),
+                new SimpleMeterRegistry());
+    }
+
+    private List<CompletableFuture<Item>> submitAll(List<Item> items) {
+        return items.stream().map(createCoalescer::submit).toList();
+    }
+
+    private long committedGroups() {
+        return meterRegistry.get("items.group.commit.size").summary().count();
+    }
+}
@@ -0,0 +1,208 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"items.imports.chunk-size=3", "items.imports.max-errors=2", "items.imports.max-line-length=400"})
+public class ItemImportServiceTests {
+    @Autowired
+    ItemImportService itemImportService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    @Qualifier("interactiveConnectionBudget")
+    ConnectionBudget interactiveBudget;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    void test_importItems_validLines_createsUnprocessedItems() throws IOException {
+        var report = itemImportService.importItems(null, body(lines(7)));
+
+        assertNotNull(report.importId());
+        assertEquals(7, report.committedLines());
+        assertEquals(7, report.imported());
+        assertEquals(0, report.failed());
+        assertTrue(report.completed());
+        assertEquals(7, itemRepository.count());
+        assertTrue(itemRepository.findAll().stream().allMatch(item -> item.getStatus() == ItemStatus.UNPROCESSED));
+    }
+
+    @Test
+    void test_importItems_invalidLines_areReportedByLineNumber() throws IOException {
+        var body = String.join("\n",
+                item("first"),
+                "",
+                "{not json",
+                item(""),
+                item("fifth") + " trailing",
+                item("sixth"));
+
+        var report = itemImportService.importItems(null, body(body));
+
+        assertEquals(2, report.imported());
+        assertEquals(3, report.failed());
+        // capped at max-errors, in line order
+        assertEquals(List.of(3L, 4L), report.errors().stream().map(ImportError::line).toList());
+        assertEquals(List.of("name must not be empty"), List.copyOf(report.errors().get(1).details()));
+    }
+
+    @Test
+    void test_importItems_tooLongLine_failsOnlyThatLine() throws IOException {
+        var report = itemImportService.importItems(null, body(item("x".repeat(500)) + "\n" + item("short")));
+
+        assertEquals(1, report.imported());
+        assertEquals(1, report.failed());
+        assertEquals(1, report.errors().get(0).line());
+    }
+
+    @Test
+    void test_importItems_fieldLongerThanItsColumn_failsOnlyThatLineAndCompletes() throws IOException {
+        var body = String.join("\n", item("first"), item("x".repeat(256)), item("third"), item("fourth"));
+
+        var report = itemImportService.importItems(null, body(body));
+
+        assertEquals(3, report.imported());
+        assertEquals(1, report.failed());
+        assertTrue(report.completed());
+        assertEquals(4, report.committedLines());
+        assertEquals(2, report.errors().get(0).line());
+        assertTrue(report.errors().get(0).details().iterator().next().startsWith("rejected by the database"));
+        assertEquals(Set.of("first", "third", "fourth"),
+                itemRepository.findAll().stream().map(Item::getName).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void test_importItems_brokenOffUpload_resumesAfterTheCommittedChunks() throws IOException {
+        var importId = UUID.randomUUID().toString();
+        var body = lines(8);
+
+        // the connection drops after the second chunk (6 lines) was read
+        assertThrows(IOException.class, () -> itemImportService.importItems(importId, failingAfter(body, 7)));
+
+        var checkpoint = itemImportService.findImport(importId);
+        assertEquals(6, checkpoint.getCommittedLines());
+        assertFalse(checkpoint.isCompleted());
+        assertEquals(6, itemRepository.count());
+
+        var report = itemImportService.importItems(importId, body(body));
+
+        assertEquals(6, report.resumedFrom());
+        assertEquals(8, report.committedLines());
+        assertEquals(8, report.imported());
+        assertTrue(report.completed());
+        assertEquals(8, itemRepository.count());
+    }
+
+    @Test
+    void test_importItems_completedImportSentAgain_createsNothing() throws IOException {
+        var importId = UUID.randomUUID().toString();
+        itemImportService.importItems(importId, body(lines(4)));
+
+        var report = itemImportService.importItems(importId, body(lines(4)));
+
+        assertEquals(4, report.resumedFrom());
+        assertEquals(4, report.imported());
+        assertEquals(4, itemRepository.count());
+    }
+
+    @Test
+    void test_importItems_completedImportSentAgainWithMoreLines_createsNothing() throws IOException {
+        var importId = UUID.randomUUID().toString();
+        itemImportService.importItems(importId, body(lines(4)));
+
+        var report = itemImportService.importItems(importId, body(lines(6)));
+
+        assertTrue(report.completed());
+        assertEquals(4, report.resumedFrom());
+        assertEquals(4, report.committedLines());
+        assertEquals(4, report.imported());
+        assertEquals(4, itemRepository.count());
+        assertEquals(4, itemImportService.findImport(importId).getCommittedLines());
+    }
+
+    @Test
+    void test_importItems_holdsNoPermitWhileReadingTheBody() throws IOException {
+        var content = lines(7).getBytes(StandardCharsets.UTF_8);
+        var leastAvailable = new AtomicInteger(Integer.MAX_VALUE);
+        // one byte at a time, so the body is read in between the commits of the chunks
+        var body = new InputStream() {
+            int position;
+
+            @Override
+            public int read() {
+                leastAvailable.accumulateAndGet(interactiveBudget.getAvailable(), Math::min);
+                return position < content.length ? content[position++] : -1;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) {
+                int next = read();
+                if (next < 0) {
+                    return -1;
+                }
+                buffer[offset] = (byte) next;
+                return 1;
+            }
+        };
+
+        var report = itemImportService.importItems(null, body);
+
+        assertEquals(7, report.imported());
+        assertEquals(interactiveBudget.getSize(), leastAvailable.get());
+        assertEquals(interactiveBudget.getSize(), interactiveBudget.getAvailable());
+    }
+
+    private static String lines(int count) {
+        return IntStream.range(0, count).mapToObj(i -> item("name" + i)).collect(Collectors.joining("\n", "", "\n"));
+    }
+
+    private static String item(String name) {
+        return "{\"id\":1,\"name\":\"%s\",\"description\":\"description\",\"status\":\"PROCESSED\",\"email\":\"email@email.com\"}"
+                .formatted(name);
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // serves the given number of lines, then fails like a connection that was reset
+    private static InputStream failingAfter(String content, int lines) {
+        var prefix = content.lines().limit(lines).collect(Collectors.joining("\n", "", "\n")).getBytes(StandardCharsets.UTF_8);
+        return new InputStream() {
+            int position;
+
+            @Override
+            public int read() throws IOException {
+                if (position == prefix.length) {
+                    throw new IOException("Connection reset");
+                }
+                return prefix[position++];
+            }
+        };
+    }
+}
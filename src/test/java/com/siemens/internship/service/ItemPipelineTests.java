@@ -0,0 +1,171 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemPipelineTests {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ItemPipeline pipeline;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (pipeline != null) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void test_submit_itemGoesThroughEveryStageInOrder() {
+        pipeline = new ItemPipeline(List.of(
+                stage("load", 1, 10, 1, batch -> batch.forEach(item -> item.setItem(new Item(item.getId(), "loaded", null, null, null)))),
+                stage("enrich", 2, 10, 1, batch -> batch.forEach(item -> item.getItem().setDescription(item.getItem().getName() + " and enriched")))),
+                registry);
+
+        var item = pipeline.submit(7L).join();
+
+        assertEquals(7L, item.getId());
+        assertEquals("loaded and enriched", item.getDescription());
+    }
+
+    @Test
+    void test_submit_batchingStage_getsTheItemsQueuedWithinMaxBatchWait() {
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        pipeline = new ItemPipeline(List.of(
+                new ItemPipeline.Stage("persist", batch -> {
+                    batchSizes.add(batch.size());
+                    batch.forEach(item -> item.setItem(new Item(item.getId())));
+                }, 1, 100, 10, Duration.ofMillis(500))),
+                registry);
+
+        var results = LongStream.range(0, 10).mapToObj(pipeline::submit).toList();
+        results.forEach(CompletableFuture::join);
+
+        assertEquals(List.of(10), batchSizes);
+        assertEquals(10, registry.get("items.pipeline.stage.batch.size").tag("stage", "persist").summary().totalAmount());
+    }
+
+    @Test
+    void test_submit_failedItem_skipsTheLaterStages_andAThrowingStageFailsItsBatch() {
+        List<Long> persisted = Collections.synchronizedList(new ArrayList<>());
+        pipeline = new ItemPipeline(List.of(
+                stage("validate", 1, 10, 1, batch -> batch.forEach(item -> {
+                    if (item.getId() == 1L) {
+                        item.fail(new IllegalArgumentException("invalid email"));
+                    } else if (item.getId() == 2L) {
+                        throw new IllegalStateException("enrichment service down");
+                    }
+                })),
+                stage("persist", 1, 10, 1, batch -> batch.forEach(item -> persisted.add(item.getId())))),
+                registry);
+
+        var invalid = assertThrows(CompletionException.class, () -> pipeline.submit(1L).join());
+        var thrown = assertThrows(CompletionException.class, () -> pipeline.submit(2L).join());
+        pipeline.submit(3L).join();
+
+        assertEquals("invalid email", invalid.getCause().getMessage());
+        assertEquals("enrichment service down", thrown.getCause().getMessage());
+        assertEquals(List.of(3L), persisted);
+
+        var validate = pipeline.getStatus().get(0);
+        assertEquals(1, validate.processed());
+        assertEquals(2, validate.failed());
+        assertEquals(2, registry.get("items.pipeline.stage.items").tags("stage", "validate", "result", "failure").counter().count());
+    }
+
+    @Test
+    void test_submit_slowStage_fillsItsQueueAndBlocksTheStagesInFront() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        pipeline = new ItemPipeline(List.of(
+                stage("load", 1, 2, 1, batch -> {
+                }),
+                stage("persist", 1, 2, 1, batch -> await(release))),
+                registry);
+
+        List<CompletableFuture<Item>> results = Collections.synchronizedList(new ArrayList<>());
+        var submitter = new Thread(() -> LongStream.range(0, 10).forEach(id -> results.add(pipeline.submit(id))));
+        submitter.start();
+
+        // persist works on one item with two queued, load holds one it can't forward, two wait for load
+        waitUntil(() -> pipeline.getStatus().get(0).queued() == 2 && pipeline.getStatus().get(1).queued() == 2);
+        assertTrue(submitter.isAlive());
+        assertEquals(1, pipeline.getStatus().get(1).busy());
+        assertEquals(2.0, registry.get("items.pipeline.stage.queue").tag("stage", "persist").gauge().value());
+
+        release.countDown();
+        submitter.join(5000);
+        results.forEach(CompletableFuture::join);
+        assertEquals(10, pipeline.getStatus().get(1).processed());
+    }
+
+    @Test
+    void test_stop_failsTheItemsLeftInTheQueues() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        pipeline = new ItemPipeline(List.of(stage("persist", 1, 10, 1, batch -> await(release))), registry);
+
+        var running = pipeline.submit(1L);
+        var queued = pipeline.submit(2L);
+        waitUntil(() -> pipeline.getStatus().get(0).busy() == 1);
+
+        // the interrupt ends the wait of the running batch, which is still completed
+        pipeline.stop();
+        pipeline = null;
+
+        running.join();
+        var e = assertThrows(CompletionException.class, queued::join);
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void test_stop_failsASubmitWaitingForRoomInTheFirstQueue() throws Exception {
+        var release = new CountDownLatch(1);
+        pipeline = new ItemPipeline(List.of(stage("persist", 1, 1, 1, batch -> await(release))), registry);
+
+        pipeline.submit(1L);
+        waitUntil(() -> pipeline.getStatus().get(0).busy() == 1);
+        pipeline.submit(2L);
+        var blocked = CompletableFuture.supplyAsync(() -> pipeline.submit(3L));
+        Thread.sleep(200);
+        assertFalse(blocked.isDone());
+
+        pipeline.stop();
+        pipeline = null;
+
+        var e = assertThrows(ExecutionException.class, () -> blocked.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    private static ItemPipeline.Stage stage(String name, int concurrency, int queueCapacity, int batchSize, ItemStage stage) {
+        return new ItemPipeline.Stage(name, stage, concurrency, queueCapacity, batchSize, Duration.ZERO);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not reached within 5s");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Statement and entity load counts of the paths that read through projections, so a change that brings back
+ * entity hydration or an extra round trip shows up as a failing test.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "items.processing.bulk-chunk-size=100"
+})
+public class ItemQueryCountTests {
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    BulkItemProcessor bulkItemProcessor;
+
+    @Autowired
+    LeasedItemProcessor leasedItemProcessor;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+    List<Long> givenIds;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+        givenIds = itemRepository.saveAll(Stream.generate(() -> new Item("name", "description", "email@email.com"))
+                        .limit(20)
+                        .toList())
+                .stream()
+                .map(Item::getId)
+                .toList();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void test_findAll_oneStatementAndNoEntities() {
+        assertEquals(20, itemService.findAll().size());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void test_update_lockedProjectionReadAndOneUpdate() {
+        var id = givenIds.get(0);
+
+        var updated = itemService.update(id, new Item(null, "updated", "description", ItemStatus.PROCESSED, "email@email.com"), null);
+
+        assertEquals("updated", updated.getName());
+        assertEquals(ItemStatus.PROCESSED, updated.getStatus());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getEntityUpdateCount());
+    }
+
+    @Test
+    void test_update_missingStatus_keepsCurrentStatus() {
+        var id = givenIds.get(0);
+
+        itemService.update(id, new Item(null, "updated", "description", ItemStatus.PROCESSED, "email@email.com"), null);
+        var updated = itemService.update(id, new Item(null, "updated", "description", null, "email@email.com"), null);
+
+        assertEquals(ItemStatus.PROCESSED, updated.getStatus());
+    }
+
+    @Test
+    void test_update_versionMismatch_onlyTheLockedRead() {
+        var id = givenIds.get(0);
+
+        assertThrows(PreconditionFailedException.class, () ->
+                itemService.update(id, new Item("updated", "description", "email@email.com"), Set.of(42L)));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void test_bulkProcess_claimAndUpdatePerChunkWithoutEntities() {
+        assertEquals(20, bulkItemProcessor.process(givenIds).size());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void test_leasedProcess_claimLeaseReadAndCompleteWithoutEntities() {
+        assertEquals(20, leasedItemProcessor.process(givenIds).size());
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+}
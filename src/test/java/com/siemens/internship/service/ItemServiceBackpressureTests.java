@@ -0,0 +1,97 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.utils.PropertiesFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ItemServiceBackpressureTests {
+    private static final int POOL_SIZE = 2;
+    private static final int QUEUE_CAPACITY = 8;
+
+    private final ThreadPoolTaskExecutor executor = createExecutor();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void test_processItemsAsync_backlogMuchLargerThanExecutor_processesEverythingWithoutRejection() {
+        var itemService = createItemService(QUEUE_CAPACITY);
+        var givenIds = LongStream.rangeClosed(1, 100_000).boxed().toList();
+
+        var report = itemService.processItemsAsync(givenIds);
+
+        assertEquals(givenIds.size(), report.processedItems().size());
+        assertTrue(maxInFlight.get() <= QUEUE_CAPACITY);
+    }
+
+    @Test
+    void test_processItemsAsync_windowSmallerThanExecutor_neverExceedsWindow() {
+        var itemService = createItemService(3);
+        var givenIds = LongStream.rangeClosed(1, 1_000).boxed().toList();
+
+        var report = itemService.processItemsAsync(givenIds);
+
+        assertEquals(givenIds.size(), report.processedItems().size());
+        assertTrue(maxInFlight.get() <= 3);
+    }
+
+    private ItemService createItemService(int window) {
+        var properties = PropertiesFactory.processing(Map.of("items.processing.max-in-flight", String.valueOf(window)));
+        var metrics = new ItemProcessingMetrics(new SimpleMeterRegistry());
+
+        return new ItemService(
+                mock(ItemRepository.class),
+                mock(ItemCache.class),
+                mock(ItemStatusCounters.class),
+                mock(ItemChangeFeed.class),
+                mock(EntityManager.class),
+                new RetryingItemProcessor(this::process, new ProcessingCircuitBreaker(properties), metrics, properties),
+                mock(BulkItemProcessor.class),
+                mock(LeasedItemProcessor.class),
+                properties,
+                PropertiesFactory.replicas(Map.of()),
+                new ProcessingJobRegistry(1, Duration.ofMinutes(1), Clock.systemUTC()),
+                metrics,
+                new SyncTaskExecutor());
+    }
+
+    // submitted like the @Async proxy does it, so a full executor rejects the task synchronously
+    private CompletableFuture<Item> process(long itemId) {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+        return CompletableFuture.supplyAsync(() -> {
+            inFlight.decrementAndGet();
+            return new Item(itemId);
+        }, executor);
+    }
+
+    private static ThreadPoolTaskExecutor createExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(POOL_SIZE);
+        executor.setMaxPoolSize(POOL_SIZE);
+        executor.setQueueCapacity(QUEUE_CAPACITY);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,84 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = "items.processing.simulated-latency=0ms")
+public class ItemServiceCacheTests {
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    AsyncItemProcessor itemProcessor;
+
+    @Test
+    void test_findById_repeatedReads_areServedFromCache() {
+        var item = itemService.save(new Item("name", "description", "email@email.com"));
+        var hitsBefore = itemService.getCacheStats().hitCount();
+
+        itemService.findById(item.getId());
+        itemService.findById(item.getId());
+
+        assertEquals(hitsBefore + 1, itemService.getCacheStats().hitCount());
+    }
+
+    @Test
+    void test_findById_afterSave_returnsUpdatedItem() {
+        var item = itemService.save(new Item("name", "description", "email@email.com"));
+        itemService.findById(item.getId());
+
+        item.setName("updated");
+        itemService.save(item);
+
+        assertEquals("updated", itemService.findById(item.getId()).getName());
+    }
+
+    @Test
+    void test_findById_afterDelete_throwsEntityNotFoundException() {
+        var item = itemService.save(new Item("name", "description", "email@email.com"));
+        itemService.findById(item.getId());
+
+        itemService.deleteById(item.getId());
+
+        assertThrows(EntityNotFoundException.class, () -> itemService.findById(item.getId()));
+    }
+
+    @Test
+    void test_findById_missingIdThenCreatedWithSave_isFound() {
+        var item = itemRepository.save(new Item("name", "description", "email@email.com"));
+        itemRepository.delete(item);
+        assertThrows(EntityNotFoundException.class, () -> itemService.findById(item.getId()));
+
+        item.setId(null);
+        var recreated = itemService.save(item);
+
+        assertEquals(recreated, itemService.findById(recreated.getId()));
+    }
+
+    @Test
+    void test_findById_afterProcessing_returnsProcessedItem() {
+        var perItem = itemService.save(new Item("name", "description", "email@email.com"));
+        var bulk = itemService.save(new Item("name", "description", "email@email.com"));
+        itemService.findById(perItem.getId());
+        itemService.findById(bulk.getId());
+
+        itemProcessor.process(perItem.getId()).join();
+        itemService.processItemsInBulk(List.of(bulk.getId()));
+
+        assertEquals(ItemStatus.PROCESSED, itemService.findById(perItem.getId()).getStatus());
+        assertEquals(ItemStatus.PROCESSED, itemService.findById(bulk.getId()).getStatus());
+    }
+}
@@ -0,0 +1,109 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "items.processing.simulated-latency=200ms",
+        "items.processing.executor.core-pool-size=2",
+        "items.processing.executor.max-pool-size=2",
+        "items.processing.executor.queue-capacity=50",
+        "items.processing.max-in-flight=50"
+})
+public class ItemServiceCancellationTests {
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    Executor taskExecutor;
+
+    List<Long> givenIds;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+        givenIds = itemRepository.saveAll(Stream.generate(() -> new Item("name", "description", "email@email.com"))
+                        .limit(20)
+                        .toList())
+                .stream()
+                .map(Item::getId)
+                .toList();
+    }
+
+    @Test
+    void test_processItems_deadlinePasses_returnsPartialResultAndEmptiesQueue() throws Exception {
+        long start = System.nanoTime();
+
+        var report = itemService.processItems(givenIds, Duration.ofMillis(300), new CancellationToken())
+                .get(5, TimeUnit.SECONDS);
+
+        // the 2 workers finish what they started, nothing else is waited for
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1_000);
+        assertEquals(0, ((ThreadPoolTaskExecutor) taskExecutor).getThreadPoolExecutor().getQueue().size());
+        assertFalse(report.processedItems().isEmpty());
+        assertFalse(report.cancelledIds().isEmpty());
+        assertTrue(report.notProcessedItems().isEmpty());
+        assertEquals(givenIds.size(), report.processedItems().size() + report.cancelledIds().size());
+
+        var reportedIds = new HashSet<>(report.cancelledIds());
+        report.processedItems().forEach(item -> reportedIds.add(item.getId()));
+        assertEquals(new HashSet<>(givenIds), reportedIds);
+
+        for (var id : report.cancelledIds()) {
+            assertEquals(ItemStatus.UNPROCESSED, itemRepository.findById(id).orElseThrow().getStatus());
+        }
+    }
+
+    @Test
+    void test_processItems_cancelledByCaller_stopsRightAway() throws Exception {
+        var token = new CancellationToken();
+        var result = itemService.processItems(givenIds, Duration.ofMinutes(1), token);
+
+        Thread.sleep(100);
+        token.cancel("the client went away");
+        var report = result.get(1, TimeUnit.SECONDS);
+
+        assertTrue(report.cancelledIds().size() >= givenIds.size() - 2);
+        assertEquals(givenIds.size(), report.processedItems().size() + report.cancelledIds().size());
+    }
+
+    @Test
+    void test_processItems_withinDeadline_nothingIsCancelled() throws Exception {
+        var report = itemService.processItems(givenIds.subList(0, 4), Duration.ofSeconds(10), new CancellationToken())
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(4, report.processedItems().size());
+        assertTrue(report.cancelledIds().isEmpty());
+    }
+
+    @Test
+    void test_processItems_finished_dropsTheDeadlineTimer() throws Exception {
+        var token = new CancellationToken();
+
+        itemService.processItems(givenIds.subList(0, 2), Duration.ofMillis(700), token).get(5, TimeUnit.SECONDS);
+
+        assertEquals(0, token.pendingDeadlines());
+        Thread.sleep(1_000);
+        assertFalse(token.isCancelled());
+    }
+}
@@ -0,0 +1,74 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "items.processing.simulated-latency=0ms")
+public class ItemServiceChangeFeedTests {
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemChangeFeed changeFeed;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    void test_whenCreateUpdateProcessDelete_everyChangeIsInTheFeed() {
+        long head = changeFeed.head();
+
+        var item = itemService.save(new Item("name", "description", "email@email.com"));
+        itemService.update(item.getId(), new Item(null, "other", "description", null, "email@email.com"), null);
+        itemService.processItems(List.of(item.getId()));
+        itemService.deleteById(item.getId());
+
+        var changes = changeFeed.changesSince(head, 100).changes();
+
+        assertEquals(List.of(ItemChangeType.CREATED, ItemChangeType.UPDATED, ItemChangeType.STATUS_CHANGED,
+                        ItemChangeType.DELETED),
+                changes.stream().map(ItemChange::type).toList());
+        assertTrue(changes.stream().allMatch(change -> change.itemId() == item.getId()));
+        assertEquals(ItemStatus.PROCESSED, changes.get(2).status());
+    }
+
+    @Test
+    void test_whenTransactionRollsBack_changeIsNotInTheFeed() {
+        long head = changeFeed.head();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            itemService.save(new Item("name", "description", "email@email.com"));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(changeFeed.changesSince(head, 100).changes().isEmpty());
+    }
+
+    @Test
+    void test_whenItemAlreadyProcessed_noStatusChangeIsRecorded() {
+        var item = itemService.save(new Item(null, "name", "description", ItemStatus.PROCESSED, "email@email.com"));
+        long head = changeFeed.head();
+
+        itemService.processItems(List.of(item.getId()));
+
+        assertTrue(changeFeed.changesSince(head, 100).changes().isEmpty());
+    }
+}
@@ -0,0 +1,89 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class ItemServicePagingTests {
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    List<Long> givenIds;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+        givenIds = itemRepository.saveAll(Stream.generate(() -> new Item("name", "description", "email@email.com"))
+                        .limit(25)
+                        .toList())
+                .stream()
+                .map(Item::getId)
+                .sorted()
+                .toList();
+    }
+
+    @Test
+    void test_findPage_followingCursors_returnsEveryItemOnceInIdOrder() {
+        List<Long> pagedIds = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+
+        String cursor = null;
+        do {
+            var page = itemService.findPage(cursor, 10);
+            page.items().forEach(item -> pagedIds.add(item.getId()));
+            pageSizes.add(page.items().size());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(givenIds, pagedIds);
+        assertEquals(List.of(10, 10, 5), pageSizes);
+    }
+
+    @Test
+    void test_findPage_exactlyFullLastPage_hasNoNextCursor() {
+        var page = itemService.findPage(null, 25);
+
+        assertEquals(25, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void test_findPage_invalidCursor_throwsInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> itemService.findPage("not-a-cursor", 10));
+    }
+
+    @Test
+    void test_forEachItem_visitsEveryItemInIdOrder() {
+        List<Long> streamedIds = new ArrayList<>();
+
+        itemService.forEachItem(item -> streamedIds.add(item.getId()));
+
+        assertEquals(givenIds, streamedIds);
+    }
+
+    @Test
+    void test_forEachItem_detachesConsumedItems() {
+        List<Item> streamedItems = new ArrayList<>();
+
+        itemService.forEachItem(streamedItems::add);
+
+        assertTrue(streamedItems.stream().noneMatch(entityManager::contains));
+    }
+}
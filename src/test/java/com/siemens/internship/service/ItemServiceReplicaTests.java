@@ -0,0 +1,130 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// two in-memory H2 databases that don't replicate, so every row tells which one a read went to
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "items.replicas.enabled=true",
+        "items.replicas.migrate=true",
+        "items.replicas.nodes[0].url=" + ItemServiceReplicaTests.REPLICA_URL,
+        "items.replicas.nodes[0].username=sa",
+        "items.replicas.nodes[0].password=",
+        "items.processing.simulated-latency=0ms"
+})
+@AutoConfigureMockMvc
+public class ItemServiceReplicaTests {
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    JdbcTemplate primary;
+
+    @Autowired
+    MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+        replica.update("DELETE FROM item");
+    }
+
+    @Test
+    void test_reads_goToReplica() {
+        long id = nextId();
+        insert(replica, id, "replica");
+
+        assertEquals("replica", itemService.findById(id).getName());
+        assertEquals(List.of(id), itemService.findAllIds());
+        assertEquals(1, itemService.findAll().size());
+        assertTrue(itemRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void test_writesAndProcessing_stayOnPrimary() {
+        var item = itemService.save(new Item("name", "description", "email@email.com"));
+
+        var report = itemService.processItems(List.of(item.getId()));
+
+        assertEquals(1, report.processedItems().size());
+        assertEquals(ItemStatus.PROCESSED, itemRepository.findById(item.getId()).orElseThrow().getStatus());
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM item", Integer.class));
+    }
+
+    @Test
+    void test_readYourWrites_afterPut_readsFromPrimary() throws Exception {
+        long id = nextId();
+        insert(primary, id, "primary");
+        insert(replica, id, "replica");
+
+        mvc.perform(get("/api/items/{id}", id))
+                .andExpect(jsonPath("$.name").value("replica"));
+
+        var update = mvc.perform(put("/api/items/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"updated\", \"description\": \"description\", \"email\": \"email@email.com\"}"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().exists("items-read-primary-until"))
+                .andReturn();
+
+        mvc.perform(get("/api/items/{id}", id).cookie(update.getResponse().getCookies()))
+                .andExpect(jsonPath("$.name").value("updated"));
+    }
+
+    @Test
+    void test_readYourWrites_laggingReplicaReadAfterPut_isNotCached() throws Exception {
+        long id = nextId();
+        insert(primary, id, "primary");
+        insert(replica, id, "replica");
+
+        var update = mvc.perform(put("/api/items/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"updated\", \"description\": \"description\", \"email\": \"email@email.com\"}"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        mvc.perform(get("/api/items/{id}", id))
+                .andExpect(jsonPath("$.name").value("replica"));
+
+        mvc.perform(get("/api/items/{id}", id).cookie(update.getResponse().getCookies()))
+                .andExpect(jsonPath("$.name").value("updated"));
+        mvc.perform(get("/api/items/{id}", id))
+                .andExpect(jsonPath("$.name").value("updated"));
+    }
+
+    // from the primary's sequence, so the ids are never the ones of an item cached by an earlier test
+    private long nextId() {
+        return primary.queryForObject("SELECT NEXT VALUE FOR item_seq", Long.class);
+    }
+
+    private static void insert(JdbcTemplate database, long id, String name) {
+        database.update("INSERT INTO item (id, name, description, status, email, version) VALUES (?, ?, 'description', 'UNPROCESSED', 'email@email.com', 0)",
+                id, name);
+    }
+}
@@ -3,20 +3,27 @@ package com.siemens.internship.service;
 import com.siemens.internship.model.Item;
 import com.siemens.internship.repository.ItemRepository;
 import jakarta.persistence.EntityNotFoundException;
+import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -30,18 +37,34 @@ public class ItemServiceTests {
     ItemService itemService;
 
     @Test
-    void test_whenProcessItemsAsync_oneTaskFails_returnsMinusOneItem() {
+    void test_whenProcessItemsAsync_tasksFail_reportsFailedItemsWithReason() {
         var givenIds = List.of(1L, 2L, 3L, 4L, 5L);
         var idsFailed = List.of(2L, 4L);
         var idsCompleted = List.of(1L, 3L, 5L);
 
-        whenProcessThenReturn(idsFailed, id -> CompletableFuture.failedFuture(new EntityNotFoundException()));
+        whenProcessThenReturn(idsFailed, id -> CompletableFuture.failedFuture(new EntityNotFoundException("Item with id: %d not found".formatted(id))));
         whenProcessThenReturn(idsCompleted, id -> CompletableFuture.completedFuture(new Item(id)));
 
-        var processedItems = itemService.processItemsAsync(givenIds);
+        var report = itemService.processItemsAsync(givenIds);
         var expectedItems = createItemSetFromIds(idsCompleted);
 
-        assertEquals(new HashSet<>(processedItems), expectedItems);
+        assertEquals(new HashSet<>(report.processedItems()), expectedItems);
+        assertEquals(Set.of(new ItemFailure(2L, "Item with id: 2 not found"), new ItemFailure(4L, "Item with id: 4 not found")),
+                new HashSet<>(report.notProcessedItems()));
+        verify(itemProcessor, times(1)).process(2L);
+    }
+
+    @Test
+    void test_whenProcessItemsAsync_transientFailure_isRetried() {
+        when(itemProcessor.process(1L))
+                .thenReturn(CompletableFuture.failedFuture(new QueryTimeoutException("timeout")))
+                .thenReturn(CompletableFuture.completedFuture(new Item(1L)));
+
+        var report = itemService.processItemsAsync(List.of(1L));
+
+        assertEquals(List.of(new Item(1L)), report.processedItems());
+        assertTrue(report.notProcessedItems().isEmpty());
+        verify(itemProcessor, times(2)).process(1L);
     }
 
     @Test
@@ -50,10 +73,46 @@ public class ItemServiceTests {
 
         whenProcessThenReturn(givenIds, id -> CompletableFuture.completedFuture(new Item(id)));
 
-        var processedItems = itemService.processItemsAsync(givenIds);
+        var report = itemService.processItemsAsync(givenIds);
         var expectedItems = createItemSetFromIds(givenIds);
 
-        assertEquals(new HashSet<>(processedItems), expectedItems);
+        assertEquals(new HashSet<>(report.processedItems()), expectedItems);
+        assertTrue(report.notProcessedItems().isEmpty());
+    }
+
+    @Test
+    void test_whenStartProcessingJob_returnsImmediatelyAndTracksProgress() {
+        var givenIds = List.of(1L, 2L, 3L);
+        var blockedTask = new CompletableFuture<Item>();
+
+        when(itemProcessor.process(1L)).thenReturn(CompletableFuture.completedFuture(new Item(1L)));
+        when(itemProcessor.process(2L)).thenReturn(CompletableFuture.failedFuture(new EntityNotFoundException()));
+        when(itemProcessor.process(3L)).thenReturn(blockedTask);
+
+        var job = itemService.startProcessingJob(givenIds);
+
+        await(() -> job.getProcessed() == 1 && job.getFailed() == 1);
+        assertEquals(ProcessingJob.State.RUNNING, job.getState());
+        assertEquals(1, job.getPending());
+
+        // the counts can be reached before the job thread submitted id 3, which only completes the job once it did
+        verify(itemProcessor, timeout(5_000)).process(3L);
+        blockedTask.complete(new Item(3L));
+
+        await(() -> job.getState() == ProcessingJob.State.COMPLETED);
+        assertEquals(2, job.getResults(0, 10).size());
+        assertEquals(job, itemService.findProcessingJob(job.getId()));
+    }
+
+    @SneakyThrows
+    private void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("condition not met in time");
+            }
+            Thread.sleep(10);
+        }
     }
 
     private void whenProcessThenReturn(List<Long> ids, Function<Long, CompletableFuture<Item>> futureFactory) {
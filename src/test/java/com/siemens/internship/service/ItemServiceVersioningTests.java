@@ -0,0 +1,75 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "items.processing.simulated-latency=0ms")
+public class ItemServiceVersioningTests {
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    void test_update_bumpsVersion() {
+        var item = itemService.save(new Item("name", "description", "email@email.com"));
+
+        var updated = itemService.update(item.getId(), new Item("updated", "description", "email@email.com"), null);
+
+        assertEquals(item.getVersion() + 1, updated.getVersion());
+        assertEquals(updated.getVersion(), itemService.findVersionById(item.getId()));
+        assertEquals(ItemStatus.UNPROCESSED, updated.getStatus());
+    }
+
+    @Test
+    void test_update_expectedVersionMatches_updates() {
+        var item = itemService.save(new Item("name", "description", "email@email.com"));
+
+        var updated = itemService.update(item.getId(), new Item("updated", "description", "email@email.com"), Set.of(item.getVersion()));
+
+        assertEquals("updated", updated.getName());
+    }
+
+    @Test
+    void test_update_staleExpectedVersion_throwsPreconditionFailedAndKeepsItem() {
+        var item = itemService.save(new Item("name", "description", "email@email.com"));
+        itemService.update(item.getId(), new Item("first", "description", "email@email.com"), null);
+
+        assertThrows(PreconditionFailedException.class, () ->
+                itemService.update(item.getId(), new Item("second", "description", "email@email.com"), Set.of(item.getVersion())));
+        assertEquals("first", itemService.findById(item.getId()).getName());
+    }
+
+    @Test
+    void test_processItemsInBulk_bumpsVersion() {
+        var item = itemService.save(new Item("name", "description", "email@email.com"));
+
+        var processed = itemService.processItemsInBulk(List.of(item.getId()));
+
+        assertEquals(item.getVersion() + 1, itemService.findVersionById(item.getId()));
+        assertEquals(item.getVersion() + 1, processed.get(0).getVersion());
+    }
+
+    @Test
+    void test_findItemsVersion_changesOnCreateUpdateAndDelete() {
+        var item = itemService.save(new Item("name", "description", "email@email.com"));
+        var afterCreate = itemService.findItemsVersion();
+
+        itemService.update(item.getId(), new Item("updated", "description", "email@email.com"), null);
+        var afterUpdate = itemService.findItemsVersion();
+        assertNotEquals(afterCreate, afterUpdate);
+
+        itemService.deleteById(item.getId());
+        assertNotEquals(afterUpdate, itemService.findItemsVersion());
+    }
+}
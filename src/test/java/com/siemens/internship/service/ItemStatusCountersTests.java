@@ -0,0 +1,166 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.repository.StatusCount;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "items.processing.simulated-latency=0ms",
+        "items.stats.reconcile-interval=PT1H"
+})
+public class ItemStatusCountersTests {
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemStatusCounters statusCounters;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+        assertTrue(statusCounters.tryReconcile());
+    }
+
+    @Test
+    void test_whenCreateUpdateDelete_countsFollow() {
+        var first = itemService.save(new Item("name", "description", "email@email.com"));
+        var second = itemService.save(new Item("name", "description", "email@email.com"));
+        itemService.update(first.getId(), new Item(null, "name", "description", ItemStatus.PROCESSED, "email@email.com"), null);
+        itemService.deleteById(second.getId());
+
+        var stats = itemService.getStats();
+
+        assertEquals(0, stats.unprocessed());
+        assertEquals(1, stats.processed());
+        assertEquals(1, stats.total());
+    }
+
+    @Test
+    void test_whenTransactionRollsBack_changeIsNotCounted() {
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            itemService.save(new Item("name", "description", "email@email.com"));
+            throw new IllegalStateException("rollback");
+        }));
+
+        assertEquals(0, itemService.getStats().total());
+    }
+
+    @Test
+    void test_whenChangedBehindTheService_reconcileCorrectsCounts() {
+        itemRepository.save(new Item("name", "description", "email@email.com"));
+        assertEquals(0, itemService.getStats().total());
+
+        assertTrue(statusCounters.tryReconcile());
+
+        var stats = itemService.getStats();
+        assertEquals(1, stats.unprocessed());
+        assertNotNull(stats.reconciledAt());
+    }
+
+    @Test
+    void test_whenConcurrentCreateDeleteAndProcess_countsMatchDatabase() throws Exception {
+        var givenIds = IntStream.range(0, 200)
+                .mapToObj(i -> itemService.save(new Item("name", "description", "email@email.com")).getId())
+                .toList();
+
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(() -> itemService.save(new Item("name", "description", "email@email.com")));
+        }
+        for (var id : givenIds.subList(0, 50)) {
+            tasks.add(() -> {
+                itemService.deleteById(id);
+                return null;
+            });
+        }
+        for (int from = 50; from < givenIds.size(); from += 25) {
+            var chunk = givenIds.subList(from, from + 25);
+            tasks.add(from % 50 == 0
+                    ? () -> itemService.processItemsInBulk(chunk)
+                    : () -> itemService.processItemsAsync(chunk));
+        }
+
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            for (Future<Object> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        var expected = itemRepository.countByStatus().stream()
+                .collect(Collectors.toMap(StatusCount::status, StatusCount::count));
+        var stats = itemService.getStats();
+
+        assertEquals(expected.getOrDefault(ItemStatus.UNPROCESSED, 0L), stats.unprocessed());
+        assertEquals(expected.getOrDefault(ItemStatus.PROCESSED, 0L), stats.processed());
+        assertEquals(250, stats.total());
+    }
+
+    @Test
+    void test_whenItemsKeepChanging_reconcileStillRunsAndKeepsCountsRight() throws Exception {
+        var givenId = itemService.save(new Item("name", "description", "email@email.com")).getId();
+        itemRepository.save(new Item("name", "description", "email@email.com"));
+        var writing = new AtomicBoolean(true);
+        var executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                writers.add(executor.submit(() -> {
+                    while (writing.get()) {
+                        var id = itemService.save(new Item("name", "description", "email@email.com")).getId();
+                        itemService.processItemsInBulk(List.of(id));
+                        itemService.deleteById(id);
+                    }
+                    return null;
+                }));
+            }
+
+            for (int round = 0; round < 20; round++) {
+                assertTrue(statusCounters.tryReconcile());
+            }
+
+            writing.set(false);
+            for (var writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        var stats = itemService.getStats();
+        assertEquals(2, stats.unprocessed());
+        assertEquals(0, stats.processed());
+        assertTrue(itemRepository.existsById(givenId));
+        assertEquals(0, meterRegistry.get("items.stats.reconcile.skipped").gauge().value());
+    }
+}
@@ -0,0 +1,149 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemProcessingProperties;
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.utils.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"items.processing.bulk-chunk-size=10", "items.processing.lease.ttl=1m"})
+public class LeasedItemProcessorTests {
+    private static final int WORKERS = 4;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    ItemCache itemCache;
+
+    @Autowired
+    ItemStatusCounters statusCounters;
+
+    @Autowired
+    ItemChangeFeed changeFeed;
+
+    @Autowired
+    ItemProcessingMetrics metrics;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ItemProcessingProperties properties;
+
+    @Autowired
+    LeasedItemProcessor leasedItemProcessor;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    void test_process_concurrentWorkers_processEveryItemExactlyOnce() {
+        var givenIds = saveItems(200);
+        var barrier = new CyclicBarrier(WORKERS);
+
+        var workers = IntStream.range(0, WORKERS)
+                .mapToObj(worker -> CompletableFuture.supplyAsync(() -> {
+                    await(barrier);
+                    return leasedItemProcessor.process(givenIds);
+                }))
+                .toList();
+
+        List<Long> processedIds = new ArrayList<>();
+        workers.forEach(worker -> worker.join().forEach(item -> processedIds.add(item.getId())));
+
+        assertEquals(givenIds.size(), processedIds.size());
+        assertEquals(new HashSet<>(givenIds), new HashSet<>(processedIds));
+        assertTrue(itemRepository.findAllIds().isEmpty());
+        assertTrue(itemRepository.findAll().stream().allMatch(item -> item.getLeaseOwner() == null));
+    }
+
+    @Test
+    void test_claim_skipsRowsLockedByAnotherClaim() throws Exception {
+        var givenIds = saveItems(4);
+        var locked = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var otherClaim = CompletableFuture.runAsync(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            itemRepository.findClaimableIdsForUpdate(givenIds.subList(0, 2), ItemStatus.UNPROCESSED, Instant.now());
+            locked.countDown();
+            await(release);
+        }));
+        locked.await();
+
+        try {
+            var lease = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> leasedItemProcessor.claim(givenIds));
+            assertEquals(givenIds.subList(2, 4), lease.ids());
+        } finally {
+            release.countDown();
+            otherClaim.join();
+        }
+    }
+
+    @Test
+    void test_process_expiredLease_isClaimedAgainAndStaleOwnerCompletesNothing() {
+        var givenIds = saveItems(3);
+        var clock = new MutableClock(Instant.now());
+        var processor = new LeasedItemProcessor(itemRepository, itemCache, statusCounters, changeFeed, metrics,
+                transactionManager, new ConnectionBudget(Bulkheads.PROCESSING, 10), properties, clock);
+
+        var deadLease = processor.claim(givenIds);
+        assertEquals(3, deadLease.ids().size());
+
+        clock.advance(Duration.ofSeconds(30));
+        assertTrue(processor.process(givenIds).isEmpty());
+
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals(3, processor.process(givenIds).size());
+
+        assertTrue(processor.complete(deadLease).isEmpty());
+        assertTrue(itemRepository.findAllIds().isEmpty());
+    }
+
+    private List<Long> saveItems(int count) {
+        return itemRepository.saveAll(Stream.generate(() -> new Item("name", "description", "email@email.com"))
+                        .limit(count)
+                        .toList())
+                .stream()
+                .map(Item::getId)
+                .sorted()
+                .toList();
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
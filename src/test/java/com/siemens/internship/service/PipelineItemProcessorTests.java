@@ -0,0 +1,83 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.model.ItemStatus;
+import com.siemens.internship.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "items.processing.simulated-latency=0ms",
+        "items.processing.pipeline.enabled=true",
+        "items.processing.pipeline.stage.persist.batch-size=50",
+        "items.processing.pipeline.stage.persist.max-batch-wait=50ms"
+})
+@AutoConfigureMockMvc
+public class PipelineItemProcessorTests {
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    AsyncItemProcessor itemProcessor;
+
+    @Autowired
+    MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+    }
+
+    @Test
+    void test_processItemsAsync_pipelineEnabled_processesEveryItemThroughTheStages() {
+        var ids = IntStream.range(0, 30)
+                .mapToObj(i -> itemService.save(new Item("name" + i, "description", "email@email.com")).getId())
+                .toList();
+
+        var report = itemService.processItemsAsync(ids);
+
+        assertInstanceOf(PipelineItemProcessor.class, itemProcessor);
+        assertEquals(30, report.processedItems().size());
+        assertTrue(report.processedItems().stream().allMatch(item -> item.getStatus() == ItemStatus.PROCESSED));
+        assertTrue(itemRepository.findAll().stream().allMatch(item -> item.getStatus() == ItemStatus.PROCESSED));
+    }
+
+    @Test
+    void test_processItemsAsync_missingAndAlreadyProcessedItems() {
+        var processed = itemService.save(new Item(null, "name", "description", ItemStatus.PROCESSED, "email@email.com"));
+        var missingId = processed.getId() + 1000;
+
+        var report = itemService.processItemsAsync(new ArrayList<>(List.of(processed.getId(), missingId)));
+
+        assertEquals(List.of(processed.getId()), report.processedItems().stream().map(Item::getId).toList());
+        assertEquals(1, report.notProcessedItems().size());
+        assertEquals(missingId, report.notProcessedItems().get(0).id());
+    }
+
+    @Test
+    void test_getPipeline_returnsEveryStage() throws Exception {
+        mvc.perform(get("/api/items/pipeline"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].name").value("load"))
+                .andExpect(jsonPath("$[1].name").value("work"))
+                .andExpect(jsonPath("$[2].name").value("persist"))
+                .andExpect(jsonPath("$[2].batchSize").value(50));
+    }
+}
@@ -0,0 +1,88 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.config.ItemProcessingProperties;
+import com.siemens.internship.utils.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProcessingCircuitBreakerTests {
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    private final ProcessingCircuitBreaker circuitBreaker = new ProcessingCircuitBreaker(
+            new ItemProcessingProperties.CircuitBreaker(0.5, 10, 4, Duration.ofSeconds(10), 2), clock);
+
+    @Test
+    void test_recordFailure_belowMinimumCalls_staysClosed() {
+        record(false, 3);
+
+        assertEquals(ProcessingCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void test_recordFailure_failureRateReachesThreshold_opensAndRejects() {
+        record(false, 2);
+        record(true, 1);
+        assertEquals(ProcessingCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        record(true, 1);
+
+        assertEquals(ProcessingCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void test_slidingWindow_oldFailuresAreForgotten() {
+        record(false, 3);
+        record(true, 1);
+        record(true, 1);
+        record(false, 10);
+
+        record(true, 4);
+
+        assertEquals(ProcessingCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void test_afterOpenDuration_trialCallsSucceed_closes() {
+        record(true, 4);
+        clock.advance(Duration.ofSeconds(10));
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(ProcessingCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordSuccess();
+
+        assertEquals(ProcessingCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void test_afterOpenDuration_trialCallFails_opensAgain() {
+        record(true, 4);
+        clock.advance(Duration.ofSeconds(10));
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.recordFailure();
+
+        assertEquals(ProcessingCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        clock.advance(Duration.ofSeconds(9));
+        assertFalse(circuitBreaker.tryAcquirePermission());
+    }
+
+    private void record(boolean failure, int times) {
+        for (int i = 0; i < times; i++) {
+            if (failure) {
+                circuitBreaker.recordFailure();
+            } else {
+                circuitBreaker.recordSuccess();
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.utils.MutableClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProcessingJobRegistryTests {
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+
+    @Test
+    void test_find_completedJobOlderThanTtl_isEvicted() {
+        var registry = new ProcessingJobRegistry(10, Duration.ofMinutes(1), clock);
+        var job = registry.register(1);
+        job.recordProcessed(new Item(1L));
+
+        clock.advance(Duration.ofSeconds(30));
+        assertTrue(registry.find(job.getId()).isPresent());
+
+        clock.advance(Duration.ofSeconds(31));
+        assertTrue(registry.find(job.getId()).isEmpty());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void test_find_runningJobOlderThanTtl_isKept() {
+        var registry = new ProcessingJobRegistry(10, Duration.ofMinutes(1), clock);
+        var job = registry.register(2);
+
+        clock.advance(Duration.ofHours(1));
+
+        assertTrue(registry.find(job.getId()).isPresent());
+    }
+
+    @Test
+    void test_register_registryFull_evictsOldestCompletedJob() {
+        var registry = new ProcessingJobRegistry(2, Duration.ofHours(1), clock);
+        var first = registry.register(0);
+        clock.advance(Duration.ofSeconds(1));
+        var second = registry.register(0);
+
+        var third = registry.register(0);
+
+        assertTrue(registry.find(first.getId()).isEmpty());
+        assertTrue(registry.find(second.getId()).isPresent());
+        assertTrue(registry.find(third.getId()).isPresent());
+    }
+
+    @Test
+    void test_register_registryFullOfRunningJobs_throwsProcessingJobLimitException() {
+        var registry = new ProcessingJobRegistry(1, Duration.ofHours(1), clock);
+        registry.register(5);
+
+        assertThrows(ProcessingJobLimitException.class, () -> registry.register(5));
+    }
+
+    @Test
+    void test_job_tracksProgressAndPagesResults() {
+        var job = new ProcessingJobRegistry(1, Duration.ofHours(1), clock).register(3);
+
+        job.recordProcessed(new Item(1L));
+        job.recordFailed(new ItemFailure(2L, "Item with id: 2 not found"));
+
+        assertEquals(ProcessingJob.State.RUNNING, job.getState());
+        assertEquals(1, job.getPending());
+
+        job.recordProcessed(new Item(3L));
+
+        assertEquals(ProcessingJob.State.COMPLETED, job.getState());
+        assertEquals(0, job.getPending());
+        assertEquals(1, job.getResults(1, 1).size());
+        assertEquals(new Item(3L), job.getResults(1, 1).get(0));
+        assertTrue(job.getResults(2, 1).isEmpty());
+        assertEquals(List.of(new ItemFailure(2L, "Item with id: 2 not found")), job.getFailures(0, 10));
+    }
+}
@@ -0,0 +1,139 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.repository.ItemRepository;
+import com.siemens.internship.utils.PropertiesFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "items.processing.simulated-latency=0ms",
+        "items.processing.scheduler.initial-batch-size=20",
+        "items.processing.scheduler.batch-size-increment=20",
+        "items.processing.scheduler.min-idle-backoff=10ms",
+        "items.processing.scheduler.max-idle-backoff=50ms"
+})
+public class ProcessingSchedulerTests {
+    @Autowired
+    ProcessingScheduler processingScheduler;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        processingScheduler.stop();
+    }
+
+    @Test
+    void test_start_drainsBacklogAndGrowsBatchSize() {
+        saveItems(300);
+
+        processingScheduler.start();
+        await(() -> processingScheduler.getStatus().processedItems() >= 300);
+
+        var status = processingScheduler.getStatus();
+        assertTrue(status.running());
+        assertTrue(status.batchSize() > 20);
+        assertTrue(itemRepository.findAllIds().isEmpty());
+        assertTrue(status.throughput() > 0);
+    }
+
+    @Test
+    void test_start_whenIdle_picksUpItemsCreatedLater() {
+        processingScheduler.start();
+        var processedBefore = processingScheduler.getStatus().processedItems();
+
+        saveItems(5);
+        await(() -> processingScheduler.getStatus().processedItems() == processedBefore + 5);
+
+        assertTrue(itemRepository.findAllIds().isEmpty());
+    }
+
+    @Test
+    void test_stop_leavesNewItemsUnprocessed() throws InterruptedException {
+        processingScheduler.start();
+        processingScheduler.stop();
+        assertFalse(processingScheduler.getStatus().running());
+
+        saveItems(5);
+        Thread.sleep(200);
+
+        assertEquals(5, itemRepository.findAllIds().size());
+    }
+
+    @Test
+    void test_runBatch_failingItems_areSkippedAndDontShrinkBatches() {
+        var backlog = new TreeSet<>(LongStream.rangeClosed(1, 500).boxed().toList());
+        var itemService = mock(ItemService.class);
+        when(itemService.findUnprocessedIds(anyLong(), anyInt())).thenAnswer(invocation -> backlog
+                .tailSet(invocation.getArgument(0, Long.class), false).stream()
+                .limit(invocation.getArgument(1, Integer.class))
+                .toList());
+        // the 10 lowest ids fail every time
+        when(itemService.processItems(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            var processed = ids.stream().filter(id -> id > 10).map(Item::new).toList();
+            var failed = ids.stream().filter(id -> id <= 10).map(id -> new ItemFailure(id, "failed")).toList();
+            processed.forEach(item -> backlog.remove(item.getId()));
+            return new ProcessingReport(processed, failed, List.of());
+        });
+        var properties = PropertiesFactory.processing(Map.of(
+                "items.processing.scheduler.initial-batch-size", "20",
+                "items.processing.scheduler.min-batch-size", "10",
+                "items.processing.scheduler.batch-size-increment", "20"));
+        var scheduler = new ProcessingScheduler(itemService, new SyncTaskExecutor(), properties,
+                new ItemProcessingMetrics(new SimpleMeterRegistry()));
+
+        int batches = 0;
+        while (scheduler.runBatch() && batches < 100) {
+            batches++;
+        }
+
+        assertEquals(LongStream.rangeClosed(1, 10).boxed().toList(), List.copyOf(backlog));
+        assertEquals(490, scheduler.getStatus().processedItems());
+        assertTrue(scheduler.getStatus().batchSize() > 20);
+    }
+
+    private void saveItems(int count) {
+        itemRepository.saveAll(Stream.generate(() -> new Item("name", "description", "email@email.com"))
+                .limit(count)
+                .toList());
+    }
+
+    @SneakyThrows
+    private void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("condition not met in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
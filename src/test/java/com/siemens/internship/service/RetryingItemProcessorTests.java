@@ -0,0 +1,145 @@
+package com.siemens.internship.service;
+
+import com.siemens.internship.model.Item;
+import com.siemens.internship.utils.PropertiesFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryingItemProcessorTests {
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final ConcurrentLinkedQueue<String> attemptThreads = new ConcurrentLinkedQueue<>();
+
+    @Test
+    void test_process_failsTwiceThenSucceeds_returnsItem() throws Exception {
+        var processor = createProcessor(Map.of(), failingTimes(2));
+
+        var item = processor.process(1L).get(5, TimeUnit.SECONDS);
+
+        assertEquals(new Item(1L), item);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void test_process_attemptsRunOut_failsWithLastCause() {
+        var processor = createProcessor(Map.of(), failingTimes(Integer.MAX_VALUE));
+
+        var e = assertThrows(ExecutionException.class, () -> processor.process(1L).get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(QueryTimeoutException.class, e.getCause());
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void test_process_itemNotFound_isNotRetried() {
+        var processor = createProcessor(Map.of(), id -> {
+            attempts.incrementAndGet();
+            return CompletableFuture.failedFuture(new EntityNotFoundException("Item with id: %d not found".formatted(id)));
+        });
+
+        var e = assertThrows(ExecutionException.class, () -> processor.process(1L).get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(EntityNotFoundException.class, e.getCause());
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void test_process_retriesDoNotWaitOnTheCallingThread() throws Exception {
+        var processor = createProcessor(Map.of("items.processing.retry.initial-backoff", "200ms"), failingTimes(1));
+        var caller = Thread.currentThread().getName();
+
+        long start = System.nanoTime();
+        var result = processor.process(1L);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 100);
+
+        result.get(5, TimeUnit.SECONDS);
+        assertEquals(caller, attemptThreads.poll());
+        assertNotEquals(caller, attemptThreads.poll());
+    }
+
+    @Test
+    void test_process_circuitOpen_failsWithoutAttempt() {
+        var processor = createProcessor(Map.of(
+                "items.processing.retry.max-attempts", "1",
+                "items.processing.circuit-breaker.minimum-calls", "2"), failingTimes(Integer.MAX_VALUE));
+
+        processor.process(1L);
+        processor.process(2L);
+        var e = assertThrows(ExecutionException.class, () -> processor.process(3L).get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(CircuitBreakerOpenException.class, e.getCause());
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    void test_process_cancelledWhileWaitingForRetry_stopsWaiting() {
+        var processor = createProcessor(Map.of("items.processing.retry.initial-backoff", "10s"), failingTimes(1));
+        var token = new CancellationToken();
+
+        var result = processor.process(1L, token);
+        token.cancel("deadline exceeded");
+
+        // get() rethrows a cancellation as it is, not wrapped in an ExecutionException
+        assertThrows(CancellationException.class, () -> result.get(1, TimeUnit.SECONDS));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void test_process_alreadyCancelled_failsWithoutAttempt() {
+        var processor = createProcessor(Map.of(), failingTimes(0));
+        var token = new CancellationToken();
+        token.cancel("deadline exceeded");
+
+        assertThrows(CancellationException.class, () -> processor.process(1L, token).get(1, TimeUnit.SECONDS));
+        assertEquals(0, attempts.get());
+    }
+
+    @Test
+    void test_backoff_growsExponentiallyWithJitterUpToMax() {
+        var processor = createProcessor(Map.of(
+                "items.processing.retry.initial-backoff", "100ms",
+                "items.processing.retry.max-backoff", "1s"), failingTimes(0));
+
+        for (int i = 0; i < 100; i++) {
+            assertBetween(50, 100, processor.backoff(1));
+            assertBetween(100, 200, processor.backoff(2));
+            assertBetween(500, 1000, processor.backoff(10));
+        }
+    }
+
+    private RetryingItemProcessor createProcessor(Map<String, String> overrides, AsyncItemProcessor itemProcessor) {
+        var values = new HashMap<>(Map.of("items.processing.retry.initial-backoff", "10ms"));
+        values.putAll(overrides);
+        var properties = PropertiesFactory.processing(values);
+
+        return new RetryingItemProcessor(itemProcessor, new ProcessingCircuitBreaker(properties),
+                new ItemProcessingMetrics(new SimpleMeterRegistry()), properties);
+    }
+
+    private AsyncItemProcessor failingTimes(int failures) {
+        return id -> {
+            attemptThreads.add(Thread.currentThread().getName());
+            if (attempts.incrementAndGet() <= failures) {
+                return CompletableFuture.failedFuture(new QueryTimeoutException("timeout"));
+            }
+            return CompletableFuture.completedFuture(new Item(id));
+        };
+    }
+
+    private static void assertBetween(long minMillis, long maxMillis, Duration actual) {
+        assertTrue(actual.toMillis() >= minMillis && actual.toMillis() <= maxMillis, actual.toString());
+    }
+}
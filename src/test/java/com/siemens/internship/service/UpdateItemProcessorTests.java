@@ -1,6 +1,9 @@
 package com.siemens.internship.service;
 
+import com.siemens.internship.model.Item;
 import com.siemens.internship.repository.ItemRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,11 +14,12 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import java.util.Optional;
 import java.util.concurrent.CompletionException;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
-@SpringBootTest
+@SpringBootTest(properties = "items.processing.simulated-latency=0ms")
 @EnableAsync
 public class UpdateItemProcessorTests {
     @MockBean
@@ -24,6 +28,9 @@ public class UpdateItemProcessorTests {
     @Autowired
     AsyncItemProcessor itemProcessor;
 
+    @Autowired
+    MeterRegistry meterRegistry;
+
     @Test
     void test_process_itemIsNotFound_EntityNotFoundExceptionIsRaised() {
         var givenId = 1L;
@@ -36,4 +43,32 @@ public class UpdateItemProcessorTests {
 
         assertTrue(ex.getCause() instanceof EntityNotFoundException);
     }
+
+    @Test
+    void test_process_recordsCountersAndPhaseLatencies() {
+        var givenId = 2L;
+        var givenItem = new Item(givenId);
+        var succeededBefore = processedCount("success");
+        var failedBefore = processedCount("failure");
+        var updatesBefore = phaseTimer("update").count();
+
+        when(itemRepository.findById(givenId)).thenReturn(Optional.of(givenItem));
+        when(itemRepository.saveAndFlush(givenItem)).thenReturn(givenItem);
+        when(itemRepository.findById(3L)).thenReturn(Optional.empty());
+
+        itemProcessor.process(givenId).join();
+        assertThrows(CompletionException.class, () -> itemProcessor.process(3L).join());
+
+        assertEquals(succeededBefore + 1, processedCount("success"));
+        assertEquals(failedBefore + 1, processedCount("failure"));
+        assertEquals(updatesBefore + 1, phaseTimer("update").count());
+    }
+
+    private double processedCount(String result) {
+        return meterRegistry.get("items.processing.items").tags("mode", "per-item", "result", result).counter().count();
+    }
+
+    private Timer phaseTimer(String phase) {
+        return meterRegistry.get("items.processing.duration").tag("phase", phase).timer();
+    }
 }
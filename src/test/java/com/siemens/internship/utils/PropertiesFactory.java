@@ -0,0 +1,26 @@
+package com.siemens.internship.utils;
+
+import com.siemens.internship.config.ItemChangeFeedProperties;
+import com.siemens.internship.config.ItemProcessingProperties;
+import com.siemens.internship.config.ItemReplicaProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.Map;
+
+public class PropertiesFactory {
+    public static ItemProcessingProperties processing(Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate("items.processing", ItemProcessingProperties.class);
+    }
+
+    public static ItemChangeFeedProperties changes(Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate("items.changes", ItemChangeFeedProperties.class);
+    }
+
+    public static ItemReplicaProperties replicas(Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate("items.replicas", ItemReplicaProperties.class);
+    }
+}